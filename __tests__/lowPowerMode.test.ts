@@ -0,0 +1,142 @@
+jest.mock('react-native', () => {
+  let listeners: Array<(state: string) => void> = [];
+  return {
+    AppState: {
+      currentState: 'active',
+      addEventListener: jest.fn((_type: string, listener: (state: string) => void) => {
+        listeners.push(listener);
+        return {
+          remove: jest.fn(() => {
+            listeners = listeners.filter((l) => l !== listener);
+          }),
+        };
+      }),
+      // Test helper: simulate an AppState transition
+      mockChange(state: string) {
+        this.currentState = state;
+        listeners.forEach((listener) => listener(state));
+      },
+    },
+    NativeModules: {},
+    Platform: {
+      OS: 'android',
+      select: jest.fn((obj) => obj.android ?? obj.default),
+    },
+  };
+});
+
+jest.mock('../src/NativeSSLWebSocket', () => ({
+  __esModule: true,
+  default: {
+    createWebSocket: jest.fn(() => Promise.resolve()),
+    pollEvents: jest.fn(() => Promise.resolve([])),
+    pollAllEvents: jest.fn(() => Promise.resolve({})),
+    configureLowPowerMode: jest.fn(() => Promise.resolve()),
+    closeWebSocket: jest.fn(() => Promise.resolve()),
+    cleanup: jest.fn(() => Promise.resolve()),
+  },
+}));
+
+import { AppState } from 'react-native';
+import NativeSSLWebSocket from '../src/NativeSSLWebSocket';
+import { SSLWebSocket, configureLowPowerMode } from '../src/SSLWebSocket';
+
+const native = NativeSSLWebSocket as any;
+const appState = AppState as any;
+
+describe('Low-power mode', () => {
+  let sockets: SSLWebSocket[] = [];
+
+  const open = async (url: string): Promise<SSLWebSocket> => {
+    const ws = new SSLWebSocket({ url });
+    sockets.push(ws);
+    await ws.connect();
+    return ws;
+  };
+
+  beforeEach(() => {
+    jest.useFakeTimers();
+    jest.clearAllMocks();
+    appState.currentState = 'active';
+  });
+
+  afterEach(async () => {
+    sockets.forEach((ws) => ws.cleanup());
+    sockets = [];
+    await configureLowPowerMode({ enabled: false });
+    jest.useRealTimers();
+  });
+
+  it('pauses polling while in background', async () => {
+    await configureLowPowerMode({ enabled: true });
+    await open('wss://example.com/ws');
+    expect(native.pollEvents).toHaveBeenCalledTimes(1);
+
+    appState.mockChange('background');
+    await jest.advanceTimersByTimeAsync(5000);
+    expect(native.pollEvents).toHaveBeenCalledTimes(1);
+    expect(native.pollAllEvents).not.toHaveBeenCalled();
+  });
+
+  it('keeps polling in background when disabled', async () => {
+    await configureLowPowerMode({ enabled: false });
+    await open('wss://example.com/ws');
+
+    appState.mockChange('background');
+    await jest.advanceTimersByTimeAsync(5000);
+    expect(native.pollEvents.mock.calls.length).toBeGreaterThan(1);
+  });
+
+  it('drains every socket with one call on resume', async () => {
+    await configureLowPowerMode({ enabled: true });
+    const chat = await open('wss://example.com/chat');
+    const feed = await open('wss://example.com/feed');
+
+    const messages: string[] = [];
+    chat.addEventListener('message', (event: any) => messages.push(event.data));
+    const opened = jest.fn();
+    feed.addEventListener('open', opened);
+
+    native.pollAllEvents.mockResolvedValueOnce({
+      [chat.id]: [
+        { id: chat.id, type: 'message', data: 'first' },
+        { id: chat.id, type: 'message', data: 'second' },
+      ],
+      [feed.id]: [{ id: feed.id, type: 'open', url: 'wss://example.com/feed' }],
+      // Socket unknown to JS: ignored
+      ws_other: [{ id: 'ws_other', type: 'message', data: 'lost' }],
+    });
+
+    appState.mockChange('background');
+    appState.mockChange('active');
+    await jest.advanceTimersByTimeAsync(0);
+
+    expect(native.pollAllEvents).toHaveBeenCalledTimes(1);
+    expect(messages).toEqual(['first', 'second']);
+    expect(opened).toHaveBeenCalledTimes(1);
+    expect(feed.readyState).toBe(1);
+  });
+
+  it('does not flush on a change that was not a resume', async () => {
+    await configureLowPowerMode({ enabled: true });
+    await open('wss://example.com/ws');
+
+    appState.mockChange('inactive');
+    appState.mockChange('background');
+    await jest.advanceTimersByTimeAsync(0);
+    expect(native.pollAllEvents).not.toHaveBeenCalled();
+  });
+
+  it('starts paused when enabled from the background', async () => {
+    appState.currentState = 'background';
+    await configureLowPowerMode({ enabled: true });
+    await open('wss://example.com/ws');
+
+    await jest.advanceTimersByTimeAsync(5000);
+    expect(native.pollEvents).not.toHaveBeenCalled();
+
+    appState.mockChange('active');
+    await jest.advanceTimersByTimeAsync(0);
+    expect(native.pollAllEvents).toHaveBeenCalledTimes(1);
+  });
+});
@@ -0,0 +1,74 @@
+jest.mock('react-native', () => ({
+  AppState: {
+    currentState: 'active',
+    addEventListener: jest.fn(() => ({ remove: jest.fn() })),
+  },
+  NativeModules: {},
+  Platform: {
+    OS: 'android',
+    select: jest.fn((obj) => obj.android ?? obj.default),
+  },
+}));
+
+jest.mock('../src/NativeSSLWebSocket', () => ({
+  __esModule: true,
+  default: {
+    request: jest.fn(),
+  },
+}));
+
+import NativeSSLWebSocket from '../src/NativeSSLWebSocket';
+import { SSLWebSocket } from '../src/SSLWebSocket';
+import { WebSocketReadyState } from '../src/types';
+
+const native = NativeSSLWebSocket as any;
+
+describe('SSLWebSocket.request', () => {
+  let ws: SSLWebSocket;
+
+  beforeEach(() => {
+    jest.clearAllMocks();
+    ws = new SSLWebSocket({ url: 'wss://example.com/ws' });
+    ws._testReadyState = WebSocketReadyState.OPEN;
+  });
+
+  it('serializes the payload and parses the response', async () => {
+    native.request.mockResolvedValueOnce('{"id":"rpc_1","result":42}');
+
+    const response = await ws.request({ method: 'answer' });
+
+    expect(native.request).toHaveBeenCalledWith(ws.id, '{"method":"answer"}', 'id', 30000);
+    expect(response).toEqual({ id: 'rpc_1', result: 42 });
+  });
+
+  it('passes string payloads and options through', async () => {
+    native.request.mockResolvedValueOnce('{"seq":7}');
+
+    await ws.request('{"seq":7}', { idField: 'seq', timeout: 0 });
+
+    expect(native.request).toHaveBeenCalledWith(ws.id, '{"seq":7}', 'seq', 0);
+  });
+
+  it('propagates native rejections', async () => {
+    native.request.mockRejectedValueOnce(new Error('No response for request rpc_1'));
+
+    await expect(ws.request({ method: 'slow' })).rejects.toThrow('No response for request rpc_1');
+  });
+
+  it('rejects when the socket is not open', async () => {
+    ws._testReadyState = WebSocketReadyState.CONNECTING;
+
+    await expect(ws.request({ method: 'early' })).rejects.toThrow('WebSocket is not open');
+    expect(native.request).not.toHaveBeenCalled();
+  });
+
+  it('rejects where the native method is missing', async () => {
+    const request = native.request;
+    delete native.request;
+    try {
+      await expect(ws.request({ method: 'ios' })).rejects.toThrow('not supported');
+    } finally {
+      native.request = request;
+    }
+  });
+});
@@ -0,0 +1,241 @@
+package com.sslwebsocket;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Module-wide admission control for TLS handshakes.
+ * Connects are queued by priority (FIFO within a priority) and started while fewer than
+ * maxConcurrentHandshakes are in flight. Low-priority connects never take the last free
+ * slot, so a critical connect never waits behind one; with a cap of 1 they only start
+ * once aged. A low-priority connect queued for lowPriorityAgingMs is treated as normal
+ * priority, so it can't be starved by a steady stream of normal connects.
+ *
+ * Admitted connects are started on the scheduler's own thread, never on the thread
+ * that freed the slot (typically an OkHttp reader thread delivering another open).
+ */
+public class SSLConnectScheduler {
+    public static final int PRIORITY_LOW = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_CRITICAL = 2;
+
+    private static final long DEFAULT_LOW_PRIORITY_AGING_MS = 2000;
+
+    public interface Admission {
+        /**
+         * Start the connect. Returns false if the connection went away while queued.
+         */
+        boolean start();
+    }
+
+    private static class Pending {
+        final String wsId;
+        final int priority;
+        final long enqueuedAt;
+        final Admission admission;
+
+        Pending(String wsId, int priority, Admission admission) {
+            this.wsId = wsId;
+            this.priority = priority;
+            this.enqueuedAt = System.nanoTime();
+            this.admission = admission;
+        }
+
+        int effectivePriority(long now, long agingNanos) {
+            if (priority == PRIORITY_LOW && now - enqueuedAt >= agingNanos) {
+                return PRIORITY_NORMAL;
+            }
+            return priority;
+        }
+    }
+
+    private final ScheduledExecutorService executor;
+    // Arrival order; the next connect is the oldest one of the highest effective priority
+    private final List<Pending> queue = new ArrayList<>();
+    private final Set<String> active = new HashSet<>();
+    private final SSLLatencyHistogram[] waitTimes = {
+            new SSLLatencyHistogram(),
+            new SSLLatencyHistogram(),
+            new SSLLatencyHistogram()
+    };
+    private int maxConcurrent = Integer.MAX_VALUE;
+    private long lowPriorityAgingNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_LOW_PRIORITY_AGING_MS);
+    private ScheduledFuture<?> agingCheck;
+
+    public SSLConnectScheduler() {
+        this(Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SSLWebSocket-connect");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    SSLConnectScheduler(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public void configure(ReadableMap config) {
+        int max = config.hasKey("maxConcurrentHandshakes") ? config.getInt("maxConcurrentHandshakes") : 0;
+        long agingMs = config.hasKey("lowPriorityAgingMs")
+                ? (long) config.getDouble("lowPriorityAgingMs")
+                : DEFAULT_LOW_PRIORITY_AGING_MS;
+        configure(max, agingMs);
+    }
+
+    /**
+     * Set the handshake cap (0 = unlimited) and the time after which a queued
+     * low-priority connect competes as normal priority.
+     */
+    void configure(int maxConcurrentHandshakes, long lowPriorityAgingMs) {
+        synchronized (this) {
+            maxConcurrent = maxConcurrentHandshakes > 0 ? maxConcurrentHandshakes : Integer.MAX_VALUE;
+            lowPriorityAgingNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lowPriorityAgingMs));
+        }
+        // A higher cap may admit queued connects right away
+        drain();
+    }
+
+    public void submit(String wsId, int priority, Admission admission) {
+        synchronized (this) {
+            queue.add(new Pending(wsId, priority, admission));
+        }
+        drain();
+    }
+
+    /**
+     * Free the handshake slot of a connection (open, failed or closed) or drop it from
+     * the queue. Safe to call more than once.
+     */
+    public void release(String wsId) {
+        synchronized (this) {
+            boolean removed = active.remove(wsId);
+            removed |= queue.removeIf(pending -> pending.wsId.equals(wsId));
+            if (!removed) {
+                return;
+            }
+        }
+        drain();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static int priorityFor(ReadableMap options) {
+        if (options == null || !options.hasKey("priority")) {
+            return PRIORITY_NORMAL;
+        }
+        String priority = options.getString("priority");
+        if ("critical".equals(priority)) {
+            return PRIORITY_CRITICAL;
+        }
+        if ("low".equals(priority)) {
+            return PRIORITY_LOW;
+        }
+        return PRIORITY_NORMAL;
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+        stats.putDouble("maxConcurrentHandshakes", maxConcurrent == Integer.MAX_VALUE ? -1 : maxConcurrent);
+        stats.putInt("activeHandshakes", active.size());
+        stats.putInt("queued", queue.size());
+
+        WritableMap wait = Arguments.createMap();
+        wait.putMap("critical", waitTimes[PRIORITY_CRITICAL].toMap());
+        wait.putMap("normal", waitTimes[PRIORITY_NORMAL].toMap());
+        wait.putMap("low", waitTimes[PRIORITY_LOW].toMap());
+        stats.putMap("waitTime", wait);
+        return stats;
+    }
+
+    private synchronized void drain() {
+        long now = System.nanoTime();
+        while (true) {
+            Pending next = null;
+            int nextPriority = -1;
+            for (Pending pending : queue) {
+                int priority = pending.effectivePriority(now, lowPriorityAgingNanos);
+                if (priority > nextPriority) {
+                    next = pending;
+                    nextPriority = priority;
+                }
+            }
+            // Lower priorities are never admitted when the best candidate isn't
+            if (next == null || !canAdmit(nextPriority)) {
+                break;
+            }
+
+            queue.remove(next);
+            active.add(next.wsId);
+            waitTimes[next.priority].recordNanos(now - next.enqueuedAt);
+            start(next);
+        }
+        scheduleAgingCheck(now);
+    }
+
+    private void start(Pending pending) {
+        try {
+            executor.execute(() -> {
+                boolean started;
+                try {
+                    started = pending.admission.start();
+                } catch (Exception e) {
+                    android.util.Log.e("SSLWebSocket", "Connect failed to start: " + e.getMessage(), e);
+                    started = false;
+                }
+                if (!started) {
+                    release(pending.wsId);
+                }
+            });
+        } catch (Exception e) {
+            // Scheduler shut down with the module
+            active.remove(pending.wsId);
+        }
+    }
+
+    private boolean canAdmit(int priority) {
+        int limit = maxConcurrent;
+        if (priority == PRIORITY_LOW && limit != Integer.MAX_VALUE) {
+            // Keep one slot for normal/critical connects
+            limit -= 1;
+        }
+        return active.size() < limit;
+    }
+
+    private synchronized void runAgingCheck() {
+        agingCheck = null;
+        drain();
+    }
+
+    /**
+     * Re-run the admission when the oldest waiting low-priority connect ages,
+     * since nothing else may free a slot until then.
+     */
+    private void scheduleAgingCheck(long now) {
+        if (agingCheck != null && !agingCheck.isDone()) {
+            return;
+        }
+        for (Pending pending : queue) {
+            if (pending.effectivePriority(now, lowPriorityAgingNanos) == PRIORITY_LOW) {
+                long delay = pending.enqueuedAt + lowPriorityAgingNanos - now;
+                try {
+                    agingCheck = executor.schedule(this::runAgingCheck, delay, TimeUnit.NANOSECONDS);
+                } catch (Exception e) {
+                    // Scheduler shut down with the module
+                }
+                return;
+            }
+        }
+    }
+}
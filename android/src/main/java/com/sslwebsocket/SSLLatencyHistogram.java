@@ -0,0 +1,101 @@
+package com.sslwebsocket;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram (HDR-style) over microsecond values.
+ * Each power of two is split into SUB_BUCKETS linear buckets, which keeps the
+ * relative error of reported percentiles around 3% from 1us to several days.
+ */
+public class SSLLatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = 36;
+    // Own bucket after the regular ones, for 2^(MAGNITUDES + SUB_BUCKET_BITS) us (~25 days) and above
+    private static final int OVERFLOW_INDEX = (MAGNITUDES + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(OVERFLOW_INDEX + 1);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(indexFor(micros));
+        totalCount.incrementAndGet();
+
+        long max;
+        do {
+            max = maxValue.get();
+        } while (micros > max && !maxValue.compareAndSet(max, micros));
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        maxValue.set(0);
+    }
+
+    /**
+     * Upper bound (in microseconds) of the bucket holding the given percentile.
+     */
+    public long percentileMicros(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundFor(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Summary in milliseconds: count, p50, p90, p99, max.
+     */
+    public WritableMap toMap() {
+        WritableMap map = Arguments.createMap();
+        map.putDouble("count", totalCount.get());
+        map.putDouble("p50", percentileMicros(50) / 1000.0);
+        map.putDouble("p90", percentileMicros(90) / 1000.0);
+        map.putDouble("p99", percentileMicros(99) / 1000.0);
+        map.putDouble("max", maxValue.get() / 1000.0);
+        return map;
+    }
+
+    private static int indexFor(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Keep the SUB_BUCKET_BITS + 1 most significant bits of the value
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        if (shift >= MAGNITUDES) {
+            return OVERFLOW_INDEX;
+        }
+        int top = (int) (value >>> shift);
+        return (shift + 1) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    private static long upperBoundFor(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        if (index == OVERFLOW_INDEX) {
+            // Unbounded, the percentile is reported as the max
+            return Long.MAX_VALUE;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        int top = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((long) (top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,363 @@
+package com.sslwebsocket;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Background buffering policy for queued events.
+ * While the app is backgrounded (and the mode is enabled) the module stops emitting
+ * to the bridge, droppable message types are dropped or conflated to their latest value,
+ * and the remaining messages are kept under a memory cap until JS drains them on resume.
+ *
+ * Messages queued in background are tracked by identity. A superseded or evicted message
+ * is not searched for in its queue: it becomes a tombstone (payload released, skipped when
+ * drained), and tombstones are swept from a queue once they outnumber its live messages.
+ * Eviction takes the oldest live message of a socket from the head of its arrival order;
+ * entries that were drained or dropped meanwhile are skipped once and discarded there.
+ */
+public class SSLLowPowerMode {
+    private static final long DEFAULT_MAX_BUFFERED_BYTES = 1024 * 1024;
+    private static final int MIN_TOMBSTONES_TO_SWEEP = 64;
+
+    private static class Tracked {
+        final String wsId;
+        final long size;
+        boolean dropped = false;
+
+        Tracked(String wsId, long size) {
+            this.wsId = wsId;
+            this.size = size;
+        }
+    }
+
+    private static class SocketBuffer {
+        final Queue<WritableMap> queue;
+        // Tracked events in queue order; the head is trimmed to the oldest live one
+        final ArrayDeque<WritableMap> order = new ArrayDeque<>();
+        long bytes = 0;
+        int live = 0;
+        int tombstones = 0;
+
+        SocketBuffer(Queue<WritableMap> queue) {
+            this.queue = queue;
+        }
+    }
+
+    private volatile boolean enabled = false;
+    private volatile boolean backgrounded = false;
+    private volatile long maxBufferedBytes = DEFAULT_MAX_BUFFERED_BYTES;
+    private volatile Set<String> droppableTypes = Collections.emptySet();
+    private volatile String typeField = "type";
+    private volatile boolean conflate = false;
+
+    // Everything below is guarded by this
+    private final Map<WritableMap, Tracked> tracked = new IdentityHashMap<>();
+    private final Map<String, SocketBuffer> buffers = new HashMap<>();
+    // Last queued event per wsId + droppable type, used for conflation
+    private final Map<String, WritableMap> conflated = new HashMap<>();
+    // UTF-8 size of the live message payloads buffered in background
+    private long bufferedBytes = 0;
+
+    public void configure(@Nullable ReadableMap config) {
+        if (config == null) {
+            enabled = false;
+            return;
+        }
+
+        enabled = config.hasKey("enabled") && config.getBoolean("enabled");
+        maxBufferedBytes = config.hasKey("maxBufferedBytes")
+                ? (long) config.getDouble("maxBufferedBytes")
+                : DEFAULT_MAX_BUFFERED_BYTES;
+        typeField = config.hasKey("typeField") ? config.getString("typeField") : "type";
+        conflate = config.hasKey("conflate") && config.getBoolean("conflate");
+
+        Set<String> types = new HashSet<>();
+        if (config.hasKey("droppableTypes")) {
+            ReadableArray array = config.getArray("droppableTypes");
+            if (array != null) {
+                for (int i = 0; i < array.size(); i++) {
+                    types.add(array.getString(i));
+                }
+            }
+        }
+        droppableTypes = types;
+    }
+
+    public void setBackgrounded(boolean backgrounded) {
+        this.backgrounded = backgrounded;
+        if (!backgrounded) {
+            // Conflation only applies to what was buffered while in background
+            synchronized (this) {
+                conflated.clear();
+            }
+        }
+    }
+
+    /**
+     * True while bridge traffic should be suppressed.
+     */
+    public boolean isActive() {
+        return enabled && backgrounded;
+    }
+
+    /**
+     * Add an event to its WebSocket queue, applying the background policy.
+     */
+    public void offer(String wsId, Queue<WritableMap> queue, WritableMap event) {
+        long size = isActive() ? messageSize(event) : -1;
+        if (size < 0) {
+            // Foreground, or not a message: queued as is
+            queue.offer(event);
+            return;
+        }
+
+        String messageType = droppableType(event);
+        if (messageType != null && !conflate) {
+            return;
+        }
+
+        synchronized (this) {
+            if (messageType != null) {
+                // Keep only the latest event of this type
+                WritableMap previous = conflated.put(wsId + "|" + messageType, event);
+                if (previous != null) {
+                    drop(previous);
+                }
+            }
+
+            SocketBuffer buffer = buffers.get(wsId);
+            if (buffer == null) {
+                buffer = new SocketBuffer(queue);
+                buffers.put(wsId, buffer);
+            }
+            tracked.put(event, new Tracked(wsId, size));
+            buffer.order.addLast(event);
+            buffer.bytes += size;
+            buffer.live++;
+            bufferedBytes += size;
+            queue.offer(event);
+
+            evictOverflow();
+            sweep(buffer);
+        }
+    }
+
+    /**
+     * Account for events drained by pollEvents / pollAllEvents.
+     * Returns the events to deliver, without tombstones.
+     */
+    public List<WritableMap> onDrained(List<WritableMap> events) {
+        synchronized (this) {
+            if (tracked.isEmpty()) {
+                return events;
+            }
+
+            List<WritableMap> delivered = new ArrayList<>(events.size());
+            for (WritableMap event : events) {
+                Tracked entry = tracked.remove(event);
+                if (entry == null) {
+                    delivered.add(event);
+                    continue;
+                }
+
+                SocketBuffer buffer = buffers.get(entry.wsId);
+                if (entry.dropped) {
+                    if (buffer != null) {
+                        buffer.tombstones--;
+                    }
+                    continue;
+                }
+                release(entry);
+                if (buffer != null) {
+                    buffer.live--;
+                    // Queues drain in order, so this is normally the head
+                    trimHead(buffer);
+                }
+                delivered.add(event);
+            }
+            return delivered;
+        }
+    }
+
+    /**
+     * Account for a queue that is discarded without being drained.
+     */
+    public synchronized void onQueueRemoved(String wsId) {
+        SocketBuffer buffer = buffers.remove(wsId);
+        if (buffer != null) {
+            // Tombstones may already be gone from order, never from the queue
+            for (WritableMap event : buffer.queue) {
+                tracked.remove(event);
+            }
+            bufferedBytes -= buffer.bytes;
+        }
+        conflated.keySet().removeIf(key -> key.startsWith(wsId + "|"));
+    }
+
+    /**
+     * UTF-8 size of the live messages currently buffered, across all sockets.
+     */
+    synchronized long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * Drop the oldest messages of the socket buffering the most until the global cap
+     * is met, so one chatty socket can't push out the messages of quiet ones.
+     * Open/close/error events are never tracked, hence always kept.
+     */
+    private void evictOverflow() {
+        while (bufferedBytes > maxBufferedBytes) {
+            SocketBuffer largest = null;
+            for (SocketBuffer buffer : buffers.values()) {
+                if (largest == null || buffer.bytes > largest.bytes) {
+                    largest = buffer;
+                }
+            }
+            if (largest == null || largest.bytes == 0) {
+                return;
+            }
+
+            trimHead(largest);
+            WritableMap oldest = largest.order.pollFirst();
+            if (oldest == null) {
+                return;
+            }
+            drop(oldest);
+            sweep(largest);
+        }
+    }
+
+    /**
+     * Discard the entries at the head of a buffer's order that are no longer live,
+     * so the head is the oldest live message. Each entry is discarded at most once.
+     */
+    private void trimHead(SocketBuffer buffer) {
+        WritableMap head;
+        while ((head = buffer.order.peekFirst()) != null) {
+            Tracked entry = tracked.get(head);
+            if (entry != null && !entry.dropped) {
+                return;
+            }
+            buffer.order.pollFirst();
+        }
+    }
+
+    /**
+     * Turn a queued message into a tombstone: its size is released and its payload
+     * freed right away, the event itself is skipped when the queue is drained.
+     */
+    private void drop(WritableMap event) {
+        Tracked entry = tracked.get(event);
+        if (entry == null || entry.dropped) {
+            // Already drained or dropped
+            return;
+        }
+        entry.dropped = true;
+        release(entry);
+        SocketBuffer buffer = buffers.get(entry.wsId);
+        if (buffer != null) {
+            buffer.live--;
+            buffer.tombstones++;
+        }
+        event.putNull("data");
+    }
+
+    private void release(Tracked entry) {
+        bufferedBytes -= entry.size;
+        SocketBuffer buffer = buffers.get(entry.wsId);
+        if (buffer != null) {
+            buffer.bytes -= entry.size;
+        }
+    }
+
+    /**
+     * Remove tombstones from a queue once they outnumber its live messages.
+     * Amortized over the drops, and compares by identity only.
+     */
+    private void sweep(SocketBuffer buffer) {
+        if (buffer.tombstones < MIN_TOMBSTONES_TO_SWEEP || buffer.tombstones < buffer.live) {
+            return;
+        }
+
+        Iterator<WritableMap> iterator = buffer.queue.iterator();
+        while (iterator.hasNext()) {
+            WritableMap event = iterator.next();
+            Tracked entry = tracked.get(event);
+            if (entry != null && entry.dropped) {
+                iterator.remove();
+                tracked.remove(event);
+            }
+        }
+        buffer.order.removeIf(event -> !tracked.containsKey(event));
+        buffer.tombstones = 0;
+    }
+
+    /**
+     * UTF-8 payload size of a message event, or -1 for other event types.
+     */
+    private static long messageSize(WritableMap event) {
+        if (!event.hasKey("type") || !"message".equals(event.getString("type"))) {
+            return -1;
+        }
+        String data = event.hasKey("data") ? event.getString("data") : null;
+        return data != null ? utf8Length(data) : 0;
+    }
+
+    static long utf8Length(String text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Application-level type of a message if it is marked droppable, null otherwise.
+     */
+    @Nullable
+    private String droppableType(WritableMap event) {
+        Set<String> types = droppableTypes;
+        if (types.isEmpty() || !event.hasKey("data")) {
+            return null;
+        }
+        String data = event.getString("data");
+        if (data == null || !data.startsWith("{")) {
+            return null;
+        }
+        try {
+            String messageType = new JSONObject(data).optString(typeField, null);
+            return messageType != null && types.contains(messageType) ? messageType : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.sslwebsocket;
+
+import androidx.annotation.Nullable;
+
+import org.conscrypt.Conscrypt;
+import org.conscrypt.SSLClientSessionCache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.security.Provider;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+
+/**
+ * Disk-backed TLS client session cache, one file per host:port.
+ * It is installed on a Conscrypt SSLContext, so sockets are still created and
+ * configured by SSLPinningSocketFactory before their handshake; only the session
+ * lookup falls back to disk, which lets a cold start resume instead of doing a full
+ * handshake. Pins are re-checked on resumed sessions by the hostname verifier.
+ *
+ * Conscrypt is a compileOnly dependency: apps add org.conscrypt:conscrypt-android to
+ * enable the cache. No Conscrypt type is part of this class's signature, so it loads
+ * without Conscrypt and isSupported() simply returns false.
+ */
+public class SSLPersistentSessionCache {
+    private static final int MAX_ENTRIES = 32;
+
+    private static Provider provider;
+
+    private final File directory;
+
+    public SSLPersistentSessionCache(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create session cache directory " + directory);
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * True when the app ships Conscrypt and its provider can be loaded on this device.
+     */
+    public static boolean isSupported() {
+        try {
+            return Conscrypt.isAvailable();
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Shared Conscrypt provider. The platform SSLContext has no public hook for a
+     * persistent client session cache, the Conscrypt one does.
+     */
+    static synchronized Provider provider() {
+        if (provider == null) {
+            provider = Conscrypt.newProvider();
+        }
+        return provider;
+    }
+
+    /**
+     * Install this cache on a context created from provider().
+     */
+    void install(SSLContext sslContext) {
+        Conscrypt.setClientSessionCache(sslContext, new ConscryptSessionCache(this));
+    }
+
+    @Nullable
+    synchronized byte[] getSessionData(String host, int port) {
+        File file = fileFor(host, port);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            byte[] data = new byte[(int) in.length()];
+            in.readFully(data);
+            return data;
+        } catch (IOException e) {
+            // Unreadable entry: drop it and do a full handshake
+            file.delete();
+            return null;
+        }
+    }
+
+    synchronized void putSessionData(SSLSession session, byte[] sessionData) {
+        String host = session.getPeerHost();
+        if (host == null || sessionData == null) {
+            return;
+        }
+
+        File file = fileFor(host, session.getPeerPort());
+        File temp = new File(directory, file.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(sessionData);
+        } catch (IOException e) {
+            temp.delete();
+            return;
+        }
+        // Rename so a reader never sees a partially written session
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            return;
+        }
+        trim();
+    }
+
+    private File fileFor(String host, int port) {
+        return new File(directory, host.replaceAll("[^A-Za-z0-9.-]", "_") + "." + port);
+    }
+
+    /**
+     * Keep the MAX_ENTRIES most recently written sessions.
+     */
+    private void trim() {
+        File[] files = directory.listFiles();
+        if (files == null || files.length <= MAX_ENTRIES) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - MAX_ENTRIES; i++) {
+            files[i].delete();
+        }
+    }
+
+    /**
+     * Conscrypt's view of the cache. Kept separate so it is only loaded once
+     * Conscrypt is known to be present.
+     */
+    private static class ConscryptSessionCache implements SSLClientSessionCache {
+        private final SSLPersistentSessionCache cache;
+
+        ConscryptSessionCache(SSLPersistentSessionCache cache) {
+            this.cache = cache;
+        }
+
+        @Nullable
+        @Override
+        public byte[] getSessionData(String host, int port) {
+            return cache.getSessionData(host, port);
+        }
+
+        @Override
+        public void putSessionData(SSLSession session, byte[] sessionData) {
+            cache.putSessionData(session, sessionData);
+        }
+    }
+}
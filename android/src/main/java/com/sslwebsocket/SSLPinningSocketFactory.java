@@ -1,5 +1,7 @@
 package com.sslwebsocket;
 
+import androidx.annotation.Nullable;
+
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.Socket;
@@ -15,8 +17,21 @@ public class SSLPinningSocketFactory extends SSLSocketFactory {
     private final SSLSocketFactory delegate;
 
     public SSLPinningSocketFactory(X509TrustManager trustManager) throws Exception {
-        SSLContext sslContext = SSLContext.getInstance("TLS");
-        sslContext.init(null, new TrustManager[]{trustManager}, new SecureRandom());
+        this(trustManager, null);
+    }
+
+    public SSLPinningSocketFactory(X509TrustManager trustManager, @Nullable SSLPersistentSessionCache sessionCache) throws Exception {
+        SSLContext sslContext;
+        if (sessionCache != null) {
+            // Client sessions (and TLS tickets) are also written to disk, so a cold
+            // start can resume instead of doing a full handshake
+            sslContext = SSLContext.getInstance("TLS", SSLPersistentSessionCache.provider());
+            sslContext.init(null, new TrustManager[]{trustManager}, new SecureRandom());
+            sessionCache.install(sslContext);
+        } else {
+            sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[]{trustManager}, new SecureRandom());
+        }
         this.delegate = sslContext.getSocketFactory();
     }
 
@@ -4,11 +4,14 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 
 import java.security.MessageDigest;
+import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.Base64;
 import java.util.List;
 
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
 import javax.net.ssl.X509TrustManager;
 
 public class SSLPinningTrustManager implements X509TrustManager {
@@ -38,8 +41,30 @@ public class SSLPinningTrustManager implements X509TrustManager {
         }
 
         // Get leaf certificate (first in chain)
-        X509Certificate leafCert = chain[0];
+        verifyLeafCertificate(chain[0]);
+    }
+
+    /**
+     * Re-check the pins against an already negotiated session.
+     * Resumed TLS sessions skip checkServerTrusted, so this is called from the
+     * hostname verifier to make sure every connection is pinned.
+     */
+    public boolean verifySession(SSLSession session) {
+        try {
+            Certificate[] peerCertificates = session.getPeerCertificates();
+            if (peerCertificates.length == 0 || !(peerCertificates[0] instanceof X509Certificate)) {
+                validationResult.putBoolean("success", false);
+                validationResult.putString("error", "No peer certificate in session");
+                return false;
+            }
+            verifyLeafCertificate((X509Certificate) peerCertificates[0]);
+            return true;
+        } catch (SSLPeerUnverifiedException | CertificateException e) {
+            return false;
+        }
+    }
 
+    private void verifyLeafCertificate(X509Certificate leafCert) throws CertificateException {
         try {
             // Extract public key
             byte[] publicKeyBytes = leafCert.getPublicKey().getEncoded();
@@ -65,7 +90,6 @@ public class SSLPinningTrustManager implements X509TrustManager {
             if (!isValid) {
                 validationResult.putString("error", "Public key hash does not match expected values");
                 throw new CertificateException("SSL Pinning failed: Public key hash mismatch");
-            } else {
             }
 
         } catch (Exception e) {
@@ -0,0 +1,222 @@
+package com.sslwebsocket;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+
+import okhttp3.Dns;
+
+/**
+ * Warm DNS/TCP/TLS entries created by preconnect().
+ * A preconnect resolves the host, runs a full TLS handshake (including the pin check)
+ * through a dedicated SSLPinningSocketFactory and keeps that factory around: its
+ * SSLContext holds the negotiated session, so the next connection to the same origin
+ * only needs an abbreviated (resumed) handshake.
+ *
+ * With TLS 1.3 the server sends its session ticket after the handshake, and the ticket
+ * is only processed on a read, so the probe socket reads briefly before closing.
+ */
+public class SSLPreconnectCache {
+    public interface Callback {
+        void onSuccess(Entry entry);
+        void onFailure(Exception e);
+    }
+
+    public static class Entry {
+        final SSLPinningTrustManager trustManager;
+        final SSLPinningSocketFactory socketFactory;
+        final String host;
+        final List<InetAddress> addresses;
+        final long expiresAt;
+
+        Entry(SSLPinningTrustManager trustManager, SSLPinningSocketFactory socketFactory,
+              String host, List<InetAddress> addresses, long expiresAt) {
+            this.trustManager = trustManager;
+            this.socketFactory = socketFactory;
+            this.host = host;
+            this.addresses = addresses;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        /**
+         * DNS resolver that answers with the pre-resolved addresses for the warm host.
+         */
+        Dns dns() {
+            return new Dns() {
+                @NonNull
+                @Override
+                public List<InetAddress> lookup(@NonNull String hostname) throws UnknownHostException {
+                    if (hostname.equalsIgnoreCase(host) && !addresses.isEmpty()) {
+                        return addresses;
+                    }
+                    return Dns.SYSTEM.lookup(hostname);
+                }
+            };
+        }
+    }
+
+    private static final long DEFAULT_TTL_MS = 60000;
+    private static final int TICKET_WAIT_MS = 500;
+    private static final int MAX_PARALLEL_PRECONNECTS = 4;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Small pool so one slow origin doesn't hold up the others; idle threads time out
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            MAX_PARALLEL_PRECONNECTS, MAX_PARALLEL_PRECONNECTS,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+
+    public SSLPreconnectCache() {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public void preconnect(
+            String url,
+            List<String> expectedHashes,
+            String hostname,
+            int timeoutMs,
+            long ttlMs,
+            @Nullable SSLPersistentSessionCache sessionCache,
+            Callback callback
+    ) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Socket socket = null;
+                try {
+                    URI uri = URI.create(url);
+                    String host = uri.getHost();
+                    int port = portFor(uri);
+
+                    List<InetAddress> addresses = Arrays.asList(InetAddress.getAllByName(host));
+
+                    SSLPinningTrustManager trustManager =
+                            new SSLPinningTrustManager(expectedHashes, hostname, Arguments.createMap());
+                    SSLPinningSocketFactory socketFactory = new SSLPinningSocketFactory(trustManager, sessionCache);
+
+                    // Connect to the first address, then layer TLS on top with the same
+                    // host/port OkHttp will use later so the session cache key matches
+                    socket = new Socket();
+                    socket.connect(new InetSocketAddress(addresses.get(0), port), timeoutMs);
+                    socket.setSoTimeout(timeoutMs);
+                    SSLSocket sslSocket = (SSLSocket) socketFactory.createSocket(socket, host, port, true);
+                    socket = sslSocket;
+                    // Throws if the pin check in SSLPinningTrustManager fails
+                    sslSocket.startHandshake();
+                    SSLSession session = sslSocket.getSession();
+                    if ("TLSv1.3".equals(session.getProtocol())) {
+                        awaitSessionTicket(sslSocket, Math.min(timeoutMs, TICKET_WAIT_MS));
+                    }
+
+                    long ttl = ttlMs > 0 ? ttlMs : DEFAULT_TTL_MS;
+                    Entry entry = new Entry(trustManager, socketFactory, host,
+                            Collections.unmodifiableList(new ArrayList<>(addresses)),
+                            System.currentTimeMillis() + ttl);
+                    entries.put(keyFor(url, expectedHashes), entry);
+                    callback.onSuccess(entry);
+                } catch (Exception e) {
+                    callback.onFailure(e);
+                } finally {
+                    if (socket != null) {
+                        try {
+                            socket.close();
+                        } catch (Exception ignored) {
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Take the warm entry for this origin and pin set, if any.
+     * An entry is handed out once; expired entries are dropped.
+     */
+    @Nullable
+    public Entry acquire(String url, List<String> expectedHashes) {
+        purgeExpired();
+        return entries.remove(keyFor(url, expectedHashes));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Stop the preconnect threads; pending preconnects are dropped.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        entries.clear();
+    }
+
+    /**
+     * Read until the server's post-handshake messages (the TLS 1.3 NewSessionTicket)
+     * have been processed. A WebSocket server sends no application data before the
+     * upgrade request, so this normally ends with a timeout.
+     */
+    private static void awaitSessionTicket(SSLSocket sslSocket, int waitMs) {
+        try {
+            sslSocket.setSoTimeout(waitMs);
+            sslSocket.getInputStream().read();
+        } catch (SocketTimeoutException expected) {
+            // Ticket (if any) has been consumed by now
+        } catch (Exception e) {
+            // Server closed or reset; whatever ticket arrived is cached already
+        }
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().isExpired(now)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    static String keyFor(String url, List<String> expectedHashes) {
+        String origin;
+        try {
+            URI uri = URI.create(url);
+            origin = uri.getHost() + ":" + portFor(uri);
+        } catch (Exception e) {
+            origin = url;
+        }
+        List<String> sortedHashes = new ArrayList<>(expectedHashes);
+        Collections.sort(sortedHashes);
+        return origin + "|" + String.join(",", sortedHashes);
+    }
+
+    private static int portFor(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "ws".equals(uri.getScheme()) ? 80 : 443;
+    }
+}
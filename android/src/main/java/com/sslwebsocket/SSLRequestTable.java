@@ -0,0 +1,157 @@
+package com.sslwebsocket;
+
+import com.facebook.react.bridge.Promise;
+
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okio.ByteString;
+
+/**
+ * Pending request/response table for one connection.
+ * Registered as a MessageListener, it resolves requests straight from the socket
+ * reader thread when a response carrying a pending correlation id arrives, and
+ * consumes that response so it never goes through the event queue.
+ * Correlation ids are matched by their string form, so 7 and "7" are the same id.
+ * Timeouts run on the module's timer executor, never on the main thread.
+ */
+public class SSLRequestTable implements SSLWebSocketConnection.MessageListener {
+    /**
+     * Writes a request to the socket, e.g. SSLWebSocketConnection::send.
+     */
+    public interface Sender {
+        boolean send(String text);
+    }
+
+    private static class Pending {
+        final Promise promise;
+        volatile ScheduledFuture<?> timeout;
+
+        Pending(Promise promise) {
+            this.promise = promise;
+        }
+
+        void cancelTimeout() {
+            ScheduledFuture<?> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+
+    private static final AtomicLong nextId = new AtomicLong(1);
+
+    private final ScheduledExecutorService timer;
+    // idField -> (correlation id -> pending request)
+    private final Map<String, Map<String, Pending>> pending = new ConcurrentHashMap<>();
+
+    public SSLRequestTable(ScheduledExecutorService timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Send a JSON request and resolve the Promise with the raw response text.
+     * The correlation id is read from idField, or injected if the payload has none.
+     */
+    public void request(Sender sender, String payload, String idField, long timeoutMs, Promise promise) {
+        JSONObject json;
+        String correlationId;
+        try {
+            json = new JSONObject(payload);
+            Object existing = json.opt(idField);
+            if (existing == null || existing == JSONObject.NULL) {
+                correlationId = "rpc_" + nextId.getAndIncrement();
+                json.put(idField, correlationId);
+            } else {
+                correlationId = existing.toString();
+            }
+        } catch (Exception e) {
+            promise.reject("invalid_payload", "Request payload must be a JSON object: " + e.getMessage());
+            return;
+        }
+
+        Map<String, Pending> byId = pending.computeIfAbsent(idField, key -> new ConcurrentHashMap<>());
+
+        Pending request = new Pending(promise);
+        if (byId.putIfAbsent(correlationId, request) != null) {
+            promise.reject("request_exists", "A request with this id is already pending");
+            return;
+        }
+        if (timeoutMs > 0) {
+            try {
+                request.timeout = timer.schedule(() -> {
+                    if (byId.remove(correlationId, request)) {
+                        promise.reject("request_timeout", "No response for request " + correlationId);
+                    }
+                }, timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // Timer shut down with the module, rejectAll() follows
+            }
+        }
+
+        if (!sender.send(json.toString())) {
+            if (byId.remove(correlationId, request)) {
+                request.cancelTimeout();
+                promise.reject("send_failed", "Failed to send request");
+            }
+        }
+    }
+
+    /**
+     * Reject every pending request, e.g. when the connection closes.
+     */
+    public void rejectAll(String code, String message) {
+        for (Map<String, Pending> byId : pending.values()) {
+            for (String id : byId.keySet()) {
+                Pending entry = byId.remove(id);
+                if (entry != null) {
+                    entry.cancelTimeout();
+                    entry.promise.reject(code, message);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean onTextMessage(String wsId, String text) {
+        if (!text.startsWith("{")) {
+            return false;
+        }
+
+        JSONObject json = null;
+        for (Map.Entry<String, Map<String, Pending>> entry : pending.entrySet()) {
+            Map<String, Pending> byId = entry.getValue();
+            // Cheap check before parsing: nothing pending or the field is not in the payload
+            if (byId.isEmpty() || !text.contains("\"" + entry.getKey() + "\"")) {
+                continue;
+            }
+            try {
+                if (json == null) {
+                    json = new JSONObject(text);
+                }
+            } catch (Exception e) {
+                return false;
+            }
+
+            Object id = json.opt(entry.getKey());
+            Pending matched = id != null ? byId.remove(id.toString()) : null;
+            if (matched != null) {
+                matched.cancelTimeout();
+                matched.promise.resolve(text);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onBinaryMessage(String wsId, ByteString bytes) {
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sslwebsocket;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Sequential reader for logs written by SSLTrafficRecorder.
+ */
+public class SSLTrafficReader {
+    public static class Frame {
+        public final long timestamp;
+        public final byte direction;
+        public final byte frameType;
+        public final byte[] payload;
+
+        Frame(long timestamp, byte direction, byte frameType, byte[] payload) {
+            this.timestamp = timestamp;
+            this.direction = direction;
+            this.frameType = frameType;
+            this.payload = payload;
+        }
+    }
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+
+    public SSLTrafficReader(File source) throws IOException {
+        this.file = new RandomAccessFile(source, "r");
+        FileChannel channel = file.getChannel();
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    /**
+     * Next frame, or null at the end of the log.
+     */
+    @Nullable
+    public Frame next() {
+        if (buffer.remaining() < SSLTrafficRecorder.HEADER_SIZE) {
+            return null;
+        }
+        try {
+            long timestamp = buffer.getLong();
+            byte direction = buffer.get();
+            byte frameType = buffer.get();
+            int length = buffer.getInt();
+            if (direction == 0 || length < 0 || length > buffer.remaining()) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            return new Frame(timestamp, direction, frameType, payload);
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    public void close() {
+        try {
+            file.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
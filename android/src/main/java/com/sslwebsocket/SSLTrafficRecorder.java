@@ -0,0 +1,129 @@
+package com.sslwebsocket;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import okio.ByteString;
+
+/**
+ * Capture of one WebSocket session in a memory-mapped file (an existing file is replaced).
+ *
+ * Record layout (big endian):
+ *   long  timestamp (System.nanoTime)
+ *   byte  direction (DIRECTION_IN / DIRECTION_OUT, 0 marks the end of the log)
+ *   byte  frame type (FRAME_*)
+ *   int   payload length
+ *   byte[] payload
+ *
+ * The file is mapped in chunkSize windows; unused space is zero-filled so a reader
+ * stops at the first record whose direction is 0. The file is trimmed on close.
+ */
+public class SSLTrafficRecorder {
+    public static final byte DIRECTION_IN = 1;
+    public static final byte DIRECTION_OUT = 2;
+
+    public static final byte FRAME_TEXT = 1;
+    public static final byte FRAME_BINARY = 2;
+    public static final byte FRAME_OPEN = 3;
+    public static final byte FRAME_CLOSE = 4;
+
+    static final int HEADER_SIZE = 8 + 1 + 1 + 4;
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    private final int chunkSize;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long mappedStart;
+    private boolean closed = false;
+
+    public SSLTrafficRecorder(File target) throws IOException {
+        this(target, CHUNK_SIZE);
+    }
+
+    SSLTrafficRecorder(File target, int chunkSize) throws IOException {
+        this.chunkSize = chunkSize;
+        File parent = target.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create capture directory " + parent);
+        }
+        this.file = new RandomAccessFile(target, "rw");
+        this.channel = file.getChannel();
+        // One session per file: replay timing is relative to the first frame and
+        // System.nanoTime bases are not comparable across sessions
+        file.setLength(0);
+        map(0);
+    }
+
+    public void recordText(byte direction, String text) {
+        record(direction, FRAME_TEXT, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void recordBinary(byte direction, ByteString bytes) {
+        record(direction, FRAME_BINARY, bytes.toByteArray());
+    }
+
+    public void recordOpen(String protocol) {
+        record(DIRECTION_IN, FRAME_OPEN, protocol.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void recordClose(int code, String reason) {
+        byte[] reasonBytes = reason.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = new byte[2 + reasonBytes.length];
+        payload[0] = (byte) (code >> 8);
+        payload[1] = (byte) code;
+        System.arraycopy(reasonBytes, 0, payload, 2, reasonBytes.length);
+        record(DIRECTION_IN, FRAME_CLOSE, payload);
+    }
+
+    private synchronized void record(byte direction, byte frameType, byte[] payload) {
+        if (closed) {
+            return;
+        }
+        long timestamp = System.nanoTime();
+        try {
+            int size = HEADER_SIZE + payload.length;
+            if (buffer.remaining() < size) {
+                map(mappedStart + buffer.position());
+                if (buffer.remaining() < size) {
+                    // Oversized frame: map a window large enough for it
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, mappedStart, size);
+                }
+            }
+            buffer.putLong(timestamp);
+            buffer.put(direction);
+            buffer.put(frameType);
+            buffer.putInt(payload.length);
+            buffer.put(payload);
+        } catch (IOException e) {
+            android.util.Log.w("SSLWebSocket", "Traffic capture stopped: " + e.getMessage());
+            close();
+        }
+    }
+
+    private void map(long position) throws IOException {
+        mappedStart = position;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, chunkSize);
+    }
+
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long end = mappedStart + buffer.position();
+            buffer.force();
+            buffer = null;
+            channel.truncate(end);
+            file.close();
+        } catch (IOException e) {
+            android.util.Log.w("SSLWebSocket", "Failed to close traffic capture: " + e.getMessage());
+        }
+    }
+}
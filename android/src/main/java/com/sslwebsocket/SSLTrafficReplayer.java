@@ -0,0 +1,111 @@
+package com.sslwebsocket;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import okio.ByteString;
+
+/**
+ * Replays the inbound frames of a capture through a connection's event pipeline,
+ * keeping the recorded spacing divided by the speed factor (0 = as fast as possible).
+ * Outbound frames are only used as timing references.
+ */
+public class SSLTrafficReplayer {
+    public interface Target {
+        void onReplayOpen(String protocol);
+        void onReplayText(String text);
+        void onReplayBinary(ByteString bytes);
+        void onReplayClose(int code, String reason);
+        void onReplayFailure(Exception e);
+    }
+
+    private final File source;
+    private final double speed;
+    private volatile boolean cancelled = false;
+    private Thread thread;
+
+    public SSLTrafficReplayer(File source, double speed) {
+        this.source = source;
+        this.speed = speed;
+    }
+
+    public void start(Target target) {
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                replay(target);
+            }
+        }, "SSLWebSocket-replay");
+        thread.start();
+    }
+
+    public void cancel() {
+        cancelled = true;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void replay(Target target) {
+        SSLTrafficReader reader = null;
+        boolean closed = false;
+        try {
+            reader = new SSLTrafficReader(source);
+            long firstTimestamp = -1;
+            long startNanos = System.nanoTime();
+
+            SSLTrafficReader.Frame frame;
+            while (!cancelled && !closed && (frame = reader.next()) != null) {
+                if (firstTimestamp < 0) {
+                    firstTimestamp = frame.timestamp;
+                }
+                if (frame.direction != SSLTrafficRecorder.DIRECTION_IN) {
+                    continue;
+                }
+
+                if (speed > 0) {
+                    long dueNanos = startNanos + (long) ((frame.timestamp - firstTimestamp) / speed);
+                    long waitNanos = dueNanos - System.nanoTime();
+                    if (waitNanos > 0) {
+                        Thread.sleep(waitNanos / 1000000, (int) (waitNanos % 1000000));
+                    }
+                }
+
+                switch (frame.frameType) {
+                    case SSLTrafficRecorder.FRAME_OPEN:
+                        target.onReplayOpen(new String(frame.payload, StandardCharsets.UTF_8));
+                        break;
+                    case SSLTrafficRecorder.FRAME_TEXT:
+                        target.onReplayText(new String(frame.payload, StandardCharsets.UTF_8));
+                        break;
+                    case SSLTrafficRecorder.FRAME_BINARY:
+                        target.onReplayBinary(ByteString.of(frame.payload));
+                        break;
+                    case SSLTrafficRecorder.FRAME_CLOSE:
+                        int code = ((frame.payload[0] & 0xff) << 8) | (frame.payload[1] & 0xff);
+                        String reason = new String(frame.payload, 2, frame.payload.length - 2, StandardCharsets.UTF_8);
+                        target.onReplayClose(code, reason);
+                        closed = true;
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            if (!cancelled && !closed) {
+                // Capture ended without a close frame (e.g. the session was cut)
+                target.onReplayClose(1000, "Replay finished");
+            }
+        } catch (InterruptedException e) {
+            // Cancelled
+        } catch (Exception e) {
+            if (!cancelled) {
+                target.onReplayFailure(e);
+            }
+        } finally {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+}
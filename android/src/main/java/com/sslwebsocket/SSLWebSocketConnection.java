@@ -14,8 +14,16 @@ import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLPeerUnverifiedException;
@@ -35,10 +43,34 @@ public class SSLWebSocketConnection {
         void onClose(String wsId, int code, String reason);
     }
 
-    private static final int CONNECTING = 0;
-    private static final int OPEN = 1;
-    private static final int CLOSING = 2;
-    private static final int CLOSED = 3;
+    /**
+     * Listener for native consumers of inbound messages (called on the OkHttp reader thread).
+     * Exceptions thrown by a listener are logged and never affect the socket.
+     */
+    public interface MessageListener {
+        boolean onTextMessage(String wsId, String text);
+        boolean onBinaryMessage(String wsId, ByteString bytes);
+
+        /**
+         * The connection opened. Listeners added later are not called, check getReadyState().
+         */
+        default void onOpen(String wsId) {
+        }
+
+        /**
+         * The connection closed or failed; no further messages will be delivered.
+         */
+        default void onClose(String wsId, int code, String reason) {
+        }
+    }
+
+    // Ready states, same values as the WebSocket API and the module constants
+    public static final int CONNECTING = 0;
+    public static final int OPEN = 1;
+    public static final int CLOSING = 2;
+    public static final int CLOSED = 3;
+    // Waiting for a handshake slot in SSLConnectScheduler, reported as CONNECTING
+    private static final int QUEUED = -1;
 
     private final String wsId;
     private final String url;
@@ -46,11 +78,64 @@ public class SSLWebSocketConnection {
     private final ReadableMap sslConfig;
     private final ReadableMap options;
     private final EventListener eventListener;
+    private final SSLPreconnectCache preconnectCache;
+    private final SSLPersistentSessionCache sessionCache;
+
+    private volatile WebSocket webSocket;
+    private volatile OkHttpClient client;
+    // State machine: CLOSED -> [QUEUED ->] CONNECTING -> OPEN -> CLOSING -> CLOSED,
+    // written from OkHttp threads and the scheduler thread
+    private final AtomicInteger readyState = new AtomicInteger(CLOSED);
+
+    // Counters exposed through the synchronous stats getter
+    private final AtomicLong messagesReceived = new AtomicLong();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    // Delivery latency: socket read -> event queue -> JS poll
+    private final SSLLatencyHistogram receiveToEnqueue = new SSLLatencyHistogram();
+    private final SSLLatencyHistogram enqueueToDrain = new SSLLatencyHistogram();
+    // Result of the winning attempt (or of the last failed one), see AttemptListener
+    private volatile WritableMap sslValidationResult;
+
+    // Optional traffic capture / replay (see setTrafficRecorder / setTrafficReplayer)
+    private SSLTrafficRecorder trafficRecorder;
+    private SSLTrafficReplayer trafficReplayer;
+
+    // Endpoint racing: url followed by options.alternateUrls, first attempt to open wins
+    private final List<String> endpoints = new ArrayList<>();
+    private final List<WebSocket> attempts = new CopyOnWriteArrayList<>();
+    private final AtomicReference<WebSocket> winner = new AtomicReference<>();
+    private final AtomicInteger nextEndpoint = new AtomicInteger();
+    private final AtomicInteger failedAttempts = new AtomicInteger();
+    // Staggered attempts build their client and SSLContext here, never on the main thread
+    private final ScheduledExecutorService attemptScheduler;
+    private volatile ScheduledFuture<?> scheduledAttempt;
+    private final Runnable startNextAttempt = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                launchNextAttempt();
+            } catch (Exception e) {
+                onAttemptFailed(e, null);
+            }
+        }
+    };
+    private long staggerDelayMs = 250;
+    private volatile String activeUrl;
 
-    private WebSocket webSocket;
-    private OkHttpClient client;
-    private int readyState = CLOSED;
-    private WritableMap sslValidationResult;
+    // Pin set for wss:// connects, and the warm preconnect entry for url if any
+    private List<String> pinnedHashes = Collections.emptyList();
+    private SSLPreconnectCache.Entry warmEntry;
+
+    // Connect timings, in nanoseconds since connect() (-1 until known)
+    private volatile long connectStartNanos;
+    private final AtomicLong connectTimeNanos = new AtomicLong(-1);
+    private final AtomicLong firstByteNanos = new AtomicLong(-1);
+
+    // Native message consumers registered through the public Java API
+    private final List<MessageListener> messageListeners = new CopyOnWriteArrayList<>();
 
     public SSLWebSocketConnection(
             String wsId,
@@ -58,7 +143,10 @@ public class SSLWebSocketConnection {
             ReadableArray protocols,
             ReadableMap sslConfig,
             ReadableMap options,
-            EventListener eventListener
+            EventListener eventListener,
+            SSLPreconnectCache preconnectCache,
+            @Nullable SSLPersistentSessionCache sessionCache,
+            ScheduledExecutorService attemptScheduler
     ) {
         this.wsId = wsId;
         this.url = url;
@@ -66,11 +154,27 @@ public class SSLWebSocketConnection {
         this.sslConfig = sslConfig;
         this.options = options;
         this.eventListener = eventListener;
+        this.preconnectCache = preconnectCache;
+        this.sessionCache = sessionCache;
+        this.attemptScheduler = attemptScheduler;
         this.sslValidationResult = Arguments.createMap();
+
+        endpoints.add(url);
+        if (options != null && options.hasKey("alternateUrls")) {
+            ReadableArray alternateUrls = options.getArray("alternateUrls");
+            if (alternateUrls != null) {
+                for (int i = 0; i < alternateUrls.size(); i++) {
+                    endpoints.add(alternateUrls.getString(i));
+                }
+            }
+        }
+        if (options != null && options.hasKey("endpointStaggerDelay")) {
+            staggerDelayMs = options.getInt("endpointStaggerDelay");
+        }
     }
 
     public void connect() {
-        if (readyState != CLOSED) {
+        if (!readyState.compareAndSet(CLOSED, CONNECTING)) {
             WritableMap event = Arguments.createMap();
             event.putString("type", "error");
             event.putString("error", "WebSocket is not in CLOSED state");
@@ -78,8 +182,17 @@ public class SSLWebSocketConnection {
             eventListener.onEvent(wsId, event);
             return;
         }
+        startConnect();
+    }
+
+    private void startConnect() {
+        connectStartNanos = System.nanoTime();
 
-        readyState = CONNECTING;
+        // Replay mode: feed a recorded capture instead of opening a socket
+        if (trafficReplayer != null) {
+            startReplay();
+            return;
+        }
         
         try {
             OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder();
@@ -93,148 +206,432 @@ public class SSLWebSocketConnection {
             clientBuilder.readTimeout(timeout, TimeUnit.MILLISECONDS);
             clientBuilder.writeTimeout(timeout, TimeUnit.MILLISECONDS);
 
-            // SSL Pinning configuration for WSS
+            // SSL Pinning configuration for WSS, applied per attempt (see clientForAttempt)
             if (url.startsWith("wss://") && sslConfig != null) {
-                setupSSLPinning(clientBuilder);
+                pinnedHashes = readPublicKeyHashes(sslConfig);
+                // Reuse a warm preconnect entry when available: its SSLContext already holds
+                // a session for this origin and its DNS answer is already resolved
+                if (!pinnedHashes.isEmpty() && preconnectCache != null) {
+                    warmEntry = preconnectCache.acquire(url, pinnedHashes);
+                }
             }
 
             client = clientBuilder.build();
 
-            Request.Builder requestBuilder = new Request.Builder().url(url);
-
-            // Add custom headers
-            if (options != null && options.hasKey("headers")) {
-                ReadableMap headers = options.getMap("headers");
-                if (headers != null) {
-                    for (String key : headers.toHashMap().keySet()) {
-                        Object value = headers.toHashMap().get(key);
-                        if (value instanceof String) {
-                            requestBuilder.addHeader(key, (String) value);
-                        }
+            // Race the endpoints; with a single URL this is a plain connect
+            launchNextAttempt();
+
+        } catch (Exception e) {
+            readyState.set(CLOSED);
+            // Send error via event instead of Promise
+            WritableMap event = Arguments.createMap();
+            event.putString("type", "error");
+            event.putString("error", e.getMessage());
+            event.putString("code", "connection_setup_failed");
+            eventListener.onEvent(wsId, event);
+        }
+    }
+
+    private Request buildRequest(String endpoint) {
+        Request.Builder requestBuilder = new Request.Builder().url(endpoint);
+
+        // Add custom headers
+        if (options != null && options.hasKey("headers")) {
+            ReadableMap headers = options.getMap("headers");
+            if (headers != null) {
+                for (String key : headers.toHashMap().keySet()) {
+                    Object value = headers.toHashMap().get(key);
+                    if (value instanceof String) {
+                        requestBuilder.addHeader(key, (String) value);
                     }
                 }
             }
+        }
 
-            // Add WebSocket protocols
-            if (protocols != null && protocols.size() > 0) {
-                StringBuilder protocolHeader = new StringBuilder();
-                for (int i = 0; i < protocols.size(); i++) {
-                    if (i > 0) protocolHeader.append(", ");
-                    protocolHeader.append(protocols.getString(i));
-                }
-                requestBuilder.addHeader("Sec-WebSocket-Protocol", protocolHeader.toString());
+        // Add WebSocket protocols
+        if (protocols != null && protocols.size() > 0) {
+            StringBuilder protocolHeader = new StringBuilder();
+            for (int i = 0; i < protocols.size(); i++) {
+                if (i > 0) protocolHeader.append(", ");
+                protocolHeader.append(protocols.getString(i));
             }
+            requestBuilder.addHeader("Sec-WebSocket-Protocol", protocolHeader.toString());
+        }
 
-            Request request = requestBuilder.build();
-
-            webSocket = client.newWebSocket(request, new WebSocketListener() {
-                @Override
-                public void onOpen(@NonNull WebSocket webSocket, @NonNull Response response) {
-                    readyState = OPEN;
-                    WritableMap event = Arguments.createMap();
-                    event.putString("type", "open");
-                    
-                    String protocol = response.header("Sec-WebSocket-Protocol");
-                    event.putString("protocol", protocol != null ? protocol : "");
-                    
-                    eventListener.onEvent(wsId, event);
-                }
+        return requestBuilder.build();
+    }
 
-                @Override
-                public void onMessage(@NonNull WebSocket webSocket, @NonNull String text) {
-                    WritableMap event = Arguments.createMap();
-                    event.putString("type", "message");
-                    event.putString("data", text);
-                    eventListener.onEvent(wsId, event);
-                }
+    /**
+     * Start a connect to the next endpoint and, happy-eyeballs style, schedule the one
+     * after it in case this endpoint is slow. The first attempt to open wins.
+     */
+    private void launchNextAttempt() {
+        OkHttpClient currentClient = client;
+        if (readyState.get() != CONNECTING || winner.get() != null || currentClient == null) {
+            return;
+        }
+        int index = nextEndpoint.getAndIncrement();
+        if (index >= endpoints.size()) {
+            return;
+        }
 
-                @Override
-                public void onMessage(@NonNull WebSocket webSocket, @NonNull ByteString bytes) {
-                    WritableMap event = Arguments.createMap();
-                    event.putString("type", "message");
-                    event.putString("data", bytes.base64());
-                    eventListener.onEvent(wsId, event);
+        String endpoint = endpoints.get(index);
+        WritableMap validationResult = Arguments.createMap();
+        OkHttpClient attemptClient = clientForAttempt(currentClient, endpoint, validationResult);
+        WebSocket attempt = attemptClient.newWebSocket(buildRequest(endpoint), new AttemptListener(endpoint, validationResult));
+        attempts.add(attempt);
+        if (endpoints.size() == 1) {
+            // Single endpoint: expose the socket right away so close() can close it gracefully
+            webSocket = attempt;
+            sslValidationResult = validationResult;
+        }
+        if (readyState.get() != CONNECTING) {
+            // Closed while this attempt was being built, after close() cancelled the others
+            attempt.cancel();
+            return;
+        }
+
+        if (index + 1 < endpoints.size()) {
+            scheduleNextAttempt(staggerDelayMs);
+        }
+    }
+
+    private void scheduleNextAttempt(long delayMs) {
+        try {
+            scheduledAttempt = attemptScheduler.schedule(startNextAttempt, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Module invalidated, the connection is being torn down
+        }
+    }
+
+    private void cancelScheduledAttempt() {
+        ScheduledFuture<?> scheduled = scheduledAttempt;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    private void cancelAttempts() {
+        cancelScheduledAttempt();
+        for (WebSocket attempt : attempts) {
+            attempt.cancel();
+        }
+    }
+
+    private void onAttemptFailed(Throwable t, @Nullable WritableMap validationResult) {
+        if (failedAttempts.incrementAndGet() >= endpoints.size()) {
+            // Every endpoint failed: report the last error and its validation result
+            if (validationResult != null) {
+                sslValidationResult = validationResult;
+            }
+            handleFailure(t);
+            return;
+        }
+        // Move to the next endpoint right away instead of waiting for the stagger delay
+        cancelScheduledAttempt();
+        scheduleNextAttempt(0);
+    }
+
+    /**
+     * Listener for one connect attempt; only the winning attempt reaches the event pipeline
+     * and publishes its SSL validation result.
+     */
+    private class AttemptListener extends WebSocketListener {
+        private final String endpoint;
+        private final WritableMap validationResult;
+
+        AttemptListener(String endpoint, WritableMap validationResult) {
+            this.endpoint = endpoint;
+            this.validationResult = validationResult;
+        }
+
+        @Override
+        public void onOpen(@NonNull WebSocket socket, @NonNull Response response) {
+            if (readyState.get() != CONNECTING || !winner.compareAndSet(null, socket)) {
+                // Lost the race, or closed while connecting (a single endpoint
+                // is already closing gracefully through webSocket)
+                if (socket != webSocket) {
+                    socket.cancel();
                 }
+                return;
+            }
 
-                @Override
-                public void onClosing(@NonNull WebSocket webSocket, int code, @NonNull String reason) {
-                    readyState = CLOSING;
-                    // Don't send close event here - wait for onClosed to ensure proper cleanup
+            webSocket = socket;
+            activeUrl = endpoint;
+            sslValidationResult = validationResult;
+            cancelScheduledAttempt();
+            for (WebSocket other : attempts) {
+                if (other != socket) {
+                    other.cancel();
                 }
+            }
 
-                @Override
-                public void onClosed(@NonNull WebSocket webSocket, int code, @NonNull String reason) {
-                    readyState = CLOSED;
+            String protocol = response.header("Sec-WebSocket-Protocol");
+            handleOpen(protocol != null ? protocol : "");
+        }
 
-                    // Send close event only when connection is actually closed
-                    eventListener.onClose(wsId, code, reason);
-                }
+        @Override
+        public void onMessage(@NonNull WebSocket socket, @NonNull String text) {
+            if (winner.get() == socket) {
+                handleTextMessage(text);
+            }
+        }
 
-                @Override
-                public void onFailure(@NonNull WebSocket webSocket, @NonNull Throwable t, @Nullable Response response) {
-                    readyState = CLOSED;
+        @Override
+        public void onMessage(@NonNull WebSocket socket, @NonNull ByteString bytes) {
+            if (winner.get() == socket) {
+                handleBinaryMessage(bytes);
+            }
+        }
 
-                    // Send error event first
-                    WritableMap event = Arguments.createMap();
-                    event.putString("type", "error");
-                    event.putString("error", t.getMessage());
-                    event.putString("code", "connection_failed");
-                    eventListener.onEvent(wsId, event);
+        @Override
+        public void onClosing(@NonNull WebSocket socket, int code, @NonNull String reason) {
+            if (winner.get() == socket) {
+                readyState.compareAndSet(OPEN, CLOSING);
+                // Don't send close event here - wait for onClosed to ensure proper cleanup
+            }
+        }
 
-                    // Then send close event to ensure proper cleanup
-                    eventListener.onClose(wsId, 1006, "Connection failed: " + t.getMessage());
-                }
-            });
+        @Override
+        public void onClosed(@NonNull WebSocket socket, int code, @NonNull String reason) {
+            if (winner.get() == socket || socket == webSocket) {
+                handleClosed(code, reason);
+            }
+        }
 
-        } catch (Exception e) {
-            readyState = CLOSED;
-            // Send error via event instead of Promise
-            WritableMap event = Arguments.createMap();
-            event.putString("type", "error");
-            event.putString("error", e.getMessage());
-            event.putString("code", "connection_setup_failed");
-            eventListener.onEvent(wsId, event);
+        @Override
+        public void onFailure(@NonNull WebSocket socket, @NonNull Throwable t, @Nullable Response response) {
+            if (winner.get() == socket || (endpoints.size() == 1 && socket == webSocket)) {
+                handleFailure(t);
+            } else if (winner.get() == null) {
+                onAttemptFailed(t, validationResult);
+            }
         }
     }
 
-    private void setupSSLPinning(OkHttpClient.Builder clientBuilder) {
-        if (sslConfig == null || !sslConfig.hasKey("publicKeyHashes")) {
+    private void handleOpen(String protocol) {
+        // A close() issued while connecting wins over the late open
+        if (!readyState.compareAndSet(CONNECTING, OPEN)) {
             return;
         }
+        connectTimeNanos.set(System.nanoTime() - connectStartNanos);
+        if (trafficRecorder != null) {
+            trafficRecorder.recordOpen(protocol);
+        }
 
-        ReadableArray hashes = sslConfig.getArray("publicKeyHashes");
-        if (hashes == null || hashes.size() == 0) {
+        WritableMap event = Arguments.createMap();
+        event.putString("type", "open");
+        event.putString("protocol", protocol);
+        event.putString("url", activeUrl != null ? activeUrl : url);
+        event.putDouble("connectTime", connectTimeNanos.get() / 1000000.0);
+        eventListener.onEvent(wsId, event);
+
+        for (MessageListener listener : messageListeners) {
+            try {
+                listener.onOpen(wsId);
+            } catch (Exception e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    private void handleTextMessage(String text) {
+        // Stamped first so native processing below counts towards receive -> enqueue
+        double receivedAt = monotonicMillis();
+        firstByteNanos.compareAndSet(-1, System.nanoTime() - connectStartNanos);
+        messagesReceived.incrementAndGet();
+        bytesReceived.addAndGet(SSLLowPowerMode.utf8Length(text));
+        if (trafficRecorder != null) {
+            trafficRecorder.recordText(SSLTrafficRecorder.DIRECTION_IN, text);
+        }
+
+        boolean consumed = false;
+        for (MessageListener listener : messageListeners) {
+            try {
+                consumed |= listener.onTextMessage(wsId, text);
+            } catch (Exception e) {
+                logListenerError(e);
+            }
+        }
+        if (consumed) {
             return;
         }
 
-        List<String> expectedHashes = new ArrayList<>();
-        for (int i = 0; i < hashes.size(); i++) {
-            expectedHashes.add(hashes.getString(i));
+        WritableMap event = Arguments.createMap();
+        event.putString("type", "message");
+        event.putDouble("receivedAt", receivedAt);
+        event.putString("data", text);
+        eventListener.onEvent(wsId, event);
+    }
+
+    private void handleBinaryMessage(ByteString bytes) {
+        // Stamped first so native processing below counts towards receive -> enqueue
+        double receivedAt = monotonicMillis();
+        firstByteNanos.compareAndSet(-1, System.nanoTime() - connectStartNanos);
+        messagesReceived.incrementAndGet();
+        bytesReceived.addAndGet(bytes.size());
+        if (trafficRecorder != null) {
+            trafficRecorder.recordBinary(SSLTrafficRecorder.DIRECTION_IN, bytes);
         }
 
-        String hostname = sslConfig.hasKey("hostname") ? sslConfig.getString("hostname") : extractHostname(url);
+        boolean consumed = false;
+        for (MessageListener listener : messageListeners) {
+            try {
+                consumed |= listener.onBinaryMessage(wsId, bytes);
+            } catch (Exception e) {
+                logListenerError(e);
+            }
+        }
+        if (consumed) {
+            return;
+        }
+
+        WritableMap event = Arguments.createMap();
+        event.putString("type", "message");
+        event.putDouble("receivedAt", receivedAt);
+        event.putString("data", bytes.base64());
+        eventListener.onEvent(wsId, event);
+    }
+
+    private void handleClosed(int code, String reason) {
+        // Only the first transition to CLOSED reports the close
+        if (readyState.getAndSet(CLOSED) == CLOSED) {
+            return;
+        }
+        if (trafficRecorder != null) {
+            trafficRecorder.recordClose(code, reason);
+            trafficRecorder.close();
+        }
+
+        // Send close event only when connection is actually closed
+        eventListener.onClose(wsId, code, reason);
+        notifyListenersClosed(code, reason);
+    }
+
+    private void handleFailure(Throwable t) {
+        if (readyState.getAndSet(CLOSED) == CLOSED) {
+            return;
+        }
+        if (trafficRecorder != null) {
+            trafficRecorder.recordClose(1006, "Connection failed: " + t.getMessage());
+            trafficRecorder.close();
+        }
+
+        // Send error event first
+        WritableMap event = Arguments.createMap();
+        event.putString("type", "error");
+        event.putString("error", t.getMessage());
+        event.putString("code", "connection_failed");
+        eventListener.onEvent(wsId, event);
+
+        // Then send close event to ensure proper cleanup
+        eventListener.onClose(wsId, 1006, "Connection failed: " + t.getMessage());
+        notifyListenersClosed(1006, "Connection failed: " + t.getMessage());
+    }
+
+    private void notifyListenersClosed(int code, String reason) {
+        for (MessageListener listener : messageListeners) {
+            try {
+                listener.onClose(wsId, code, reason);
+            } catch (Exception e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    private static void logListenerError(Exception e) {
+        android.util.Log.e("SSLWebSocket", "MessageListener error: " + e.getMessage(), e);
+    }
+
+    private void startReplay() {
+        trafficReplayer.start(new SSLTrafficReplayer.Target() {
+            @Override
+            public void onReplayOpen(String protocol) {
+                handleOpen(protocol);
+            }
+
+            @Override
+            public void onReplayText(String text) {
+                handleTextMessage(text);
+            }
+
+            @Override
+            public void onReplayBinary(ByteString bytes) {
+                handleBinaryMessage(bytes);
+            }
+
+            @Override
+            public void onReplayClose(int code, String reason) {
+                handleClosed(code, reason);
+            }
+
+            @Override
+            public void onReplayFailure(Exception e) {
+                handleFailure(e);
+            }
+        });
+    }
+
+    /**
+     * Client for one endpoint attempt. Each attempt pins with its own trust manager and
+     * validation result, so a losing endpoint can't overwrite the winner's result.
+     * Attempts share the dispatcher and connection pool of the base client.
+     */
+    private OkHttpClient clientForAttempt(OkHttpClient base, String endpoint, WritableMap validationResult) {
+        if (pinnedHashes.isEmpty()) {
+            return base;
+        }
+
+        String hostname = sslConfig.hasKey("hostname") ? sslConfig.getString("hostname") : extractHostname(endpoint);
 
         // Create custom trust manager for SSL Pinning
-        X509TrustManager trustManager = new SSLPinningTrustManager(expectedHashes, hostname, sslValidationResult);
-        
+        SSLPinningTrustManager trustManager = new SSLPinningTrustManager(pinnedHashes, hostname, validationResult);
+
+        // The warm preconnect entry only holds a session for url
+        SSLPreconnectCache.Entry warm = endpoint.equals(url) ? warmEntry : null;
+
         // Create custom hostname verifier
         HostnameVerifier hostnameVerifier = new HostnameVerifier() {
             @Override
             public boolean verify(String hostname, SSLSession session) {
-                // Let trust manager handle validation
-                return true;
+                // Resumed sessions skip the trust manager, so pins are re-checked here
+                return trustManager.verifySession(session);
             }
         };
 
+        OkHttpClient.Builder clientBuilder = base.newBuilder();
         try {
-            clientBuilder.sslSocketFactory(
-                new SSLPinningSocketFactory(trustManager),
-                trustManager
-            );
+            if (warm != null) {
+                clientBuilder.sslSocketFactory(warm.socketFactory, warm.trustManager);
+                clientBuilder.dns(warm.dns());
+            } else {
+                clientBuilder.sslSocketFactory(
+                    new SSLPinningSocketFactory(trustManager, sessionCache),
+                    trustManager
+                );
+            }
             clientBuilder.hostnameVerifier(hostnameVerifier);
         } catch (Exception e) {
             throw new RuntimeException("Failed to setup SSL pinning", e);
         }
+        return clientBuilder.build();
+    }
+
+    static List<String> readPublicKeyHashes(ReadableMap sslConfig) {
+        List<String> expectedHashes = new ArrayList<>();
+        if (sslConfig == null || !sslConfig.hasKey("publicKeyHashes")) {
+            return expectedHashes;
+        }
+
+        ReadableArray hashes = sslConfig.getArray("publicKeyHashes");
+        if (hashes == null) {
+            return expectedHashes;
+        }
+
+        for (int i = 0; i < hashes.size(); i++) {
+            expectedHashes.add(hashes.getString(i));
+        }
+        return expectedHashes;
     }
 
     private String extractHostname(String url) {
@@ -246,36 +643,193 @@ public class SSLWebSocketConnection {
     }
 
     public void close(int code, String reason) {
-        if (readyState == CLOSED) {
-            return;
-        }
+        // A QUEUED connect is closed like one still racing: no socket, nothing to cancel,
+        // and admit() no longer starts it
+        int state;
+        do {
+            state = readyState.get();
+            if (state == CLOSED || state == CLOSING) {
+                return;
+            }
+        } while (!readyState.compareAndSet(state, CLOSING));
 
-        readyState = CLOSING;
         if (webSocket != null) {
             webSocket.close(code, reason);
+        } else if (trafficReplayer != null) {
+            trafficReplayer.cancel();
+            handleClosed(code, reason != null ? reason : "");
+        } else {
+            // Still racing endpoints (or setup failed): drop every attempt
+            cancelAttempts();
+            handleClosed(code, reason != null ? reason : "");
         }
     }
 
     public void sendData(String data, Promise promise) {
-        if (readyState != OPEN) {
+        if (readyState.get() != OPEN) {
             promise.reject("invalid_state", "WebSocket is not in OPEN state");
             return;
         }
 
-        if (webSocket != null) {
-            boolean success = webSocket.send(data);
-            if (success) {
-                promise.resolve(null);
-            } else {
-                promise.reject("send_failed", "Failed to send message");
-            }
-        } else {
+        if (webSocket == null && trafficReplayer == null) {
             promise.reject("websocket_null", "WebSocket is null");
+            return;
+        }
+
+        if (send(data)) {
+            promise.resolve(null);
+        } else {
+            promise.reject("send_failed", "Failed to send message");
+        }
+    }
+
+    /**
+     * Send a text frame directly from native code, without going through the bridge.
+     * Returns false if the socket is not open or the frame could not be queued.
+     */
+    public boolean send(String text) {
+        if (readyState.get() != OPEN) {
+            return false;
+        }
+        if (trafficReplayer != null) {
+            // Replayed sessions have no peer, outbound data is discarded
+            return true;
+        }
+
+        WebSocket socket = webSocket;
+        if (socket == null || !socket.send(text)) {
+            return false;
+        }
+        messagesSent.incrementAndGet();
+        bytesSent.addAndGet(SSLLowPowerMode.utf8Length(text));
+        if (trafficRecorder != null) {
+            trafficRecorder.recordText(SSLTrafficRecorder.DIRECTION_OUT, text);
+        }
+        return true;
+    }
+
+    /**
+     * Send a binary frame directly from native code, without going through the bridge.
+     * Returns false if the socket is not open or the frame could not be queued.
+     */
+    public boolean send(ByteString bytes) {
+        if (readyState.get() != OPEN) {
+            return false;
+        }
+        if (trafficReplayer != null) {
+            return true;
+        }
+
+        WebSocket socket = webSocket;
+        if (socket == null || !socket.send(bytes)) {
+            return false;
+        }
+        messagesSent.incrementAndGet();
+        bytesSent.addAndGet(bytes.size());
+        if (trafficRecorder != null) {
+            trafficRecorder.recordBinary(SSLTrafficRecorder.DIRECTION_OUT, bytes);
+        }
+        return true;
+    }
+
+    /**
+     * Native listener for inbound messages. Return true to consume the message,
+     * in which case it is not queued for JS. Open/close/error events always reach JS,
+     * and native listeners get them through onOpen / onClose.
+     */
+    public void addMessageListener(MessageListener listener) {
+        messageListeners.add(listener);
+    }
+
+    public void removeMessageListener(MessageListener listener) {
+        messageListeners.remove(listener);
+    }
+
+    public String getId() {
+        return wsId;
+    }
+
+    /**
+     * Record every inbound and outbound frame of this connection. Must be set before connect().
+     */
+    public void setTrafficRecorder(@Nullable SSLTrafficRecorder trafficRecorder) {
+        this.trafficRecorder = trafficRecorder;
+    }
+
+    /**
+     * Replay a capture instead of connecting to the network. Must be set before connect().
+     */
+    public void setTrafficReplayer(@Nullable SSLTrafficReplayer trafficReplayer) {
+        this.trafficReplayer = trafficReplayer;
+    }
+
+    /**
+     * Queue the connect behind SSLConnectScheduler; reported as CONNECTING meanwhile.
+     */
+    public void markAdmissionPending() {
+        readyState.compareAndSet(CLOSED, QUEUED);
+    }
+
+    /**
+     * Called by SSLConnectScheduler when a handshake slot is granted.
+     * Returns false if the connection was closed or cleaned up while queued.
+     */
+    public boolean admit() {
+        if (!readyState.compareAndSet(QUEUED, CONNECTING)) {
+            return false;
         }
+        startConnect();
+        return true;
     }
 
     public int getReadyState() {
-        return readyState;
+        int state = readyState.get();
+        return state == QUEUED ? CONNECTING : state;
+    }
+
+    public SSLLatencyHistogram getReceiveToEnqueueHistogram() {
+        return receiveToEnqueue;
+    }
+
+    public SSLLatencyHistogram getEnqueueToDrainHistogram() {
+        return enqueueToDrain;
+    }
+
+    /**
+     * Monotonic clock used to stamp events, in milliseconds (sub-ms precision).
+     */
+    static double monotonicMillis() {
+        return System.nanoTime() / 1000000.0;
+    }
+
+    /**
+     * Bytes queued in OkHttp and not yet written to the socket.
+     */
+    public long getBufferedAmount() {
+        WebSocket socket = webSocket;
+        return socket != null ? socket.queueSize() : 0;
+    }
+
+    /**
+     * Snapshot of the connection counters. Byte counts are payload bytes, UTF-8 for text
+     * frames, like bufferedAmount.
+     */
+    public WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+        stats.putInt("readyState", getReadyState());
+        stats.putDouble("bufferedAmount", getBufferedAmount());
+        stats.putDouble("messagesReceived", messagesReceived.get());
+        stats.putDouble("messagesSent", messagesSent.get());
+        stats.putDouble("bytesReceived", bytesReceived.get());
+        stats.putDouble("bytesSent", bytesSent.get());
+        stats.putString("endpoint", activeUrl != null ? activeUrl : url);
+        if (connectTimeNanos.get() >= 0) {
+            stats.putDouble("connectTime", connectTimeNanos.get() / 1000000.0);
+        }
+        if (firstByteNanos.get() >= 0) {
+            stats.putDouble("timeToFirstByte", firstByteNanos.get() / 1000000.0);
+        }
+        return stats;
     }
 
     public WritableMap getSSLValidationResult() {
@@ -283,6 +837,15 @@ public class SSLWebSocketConnection {
     }
 
     public void cleanup() {
+        // First, so a queued admit() or an attempt being built bails out
+        readyState.set(CLOSED);
+        if (trafficReplayer != null) {
+            trafficReplayer.cancel();
+        }
+        if (trafficRecorder != null) {
+            trafficRecorder.close();
+        }
+        cancelAttempts();
         if (webSocket != null) {
             webSocket.cancel();
             webSocket = null;
@@ -292,6 +855,5 @@ public class SSLWebSocketConnection {
             client.connectionPool().evictAll();
             client = null;
         }
-        readyState = CLOSED;
     }
 }
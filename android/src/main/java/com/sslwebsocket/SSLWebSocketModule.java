@@ -5,6 +5,7 @@ import androidx.annotation.Nullable;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
@@ -13,28 +14,58 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 
 import android.os.Handler;
 import android.os.Looper;
 
+import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.Queue;
+import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
 
-public class SSLWebSocketModule extends ReactContextBaseJavaModule {
+@ReactModule(name = SSLWebSocketModule.NAME)
+public class SSLWebSocketModule extends ReactContextBaseJavaModule implements LifecycleEventListener {
     public static final String NAME = "SSLWebSocket";
     private final ConcurrentHashMap<String, SSLWebSocketConnection> connections = new ConcurrentHashMap<>();
     
     // Event queues per WebSocket ID
     private final ConcurrentHashMap<String, Queue<WritableMap>> eventQueues = new ConcurrentHashMap<>();
 
+    // Native request/response tables per WebSocket ID, created on first request()
+    private final ConcurrentHashMap<String, SSLRequestTable> requestTables = new ConcurrentHashMap<>();
+
+    // Request timeouts and staggered connect attempts, kept off the main thread
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SSLWebSocket-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Caps concurrent TLS handshakes, see configureConnectScheduler()
+    private final SSLConnectScheduler connectScheduler = new SSLConnectScheduler();
+
+    // Warm DNS/TCP/TLS entries created by preconnect()
+    private final SSLPreconnectCache preconnectCache = new SSLPreconnectCache();
+
+    // Disk-backed TLS session cache, created on first use by connections that opt in
+    private SSLPersistentSessionCache persistentSessionCache;
+
+    // Background buffering policy, see configureLowPowerMode()
+    private final SSLLowPowerMode lowPowerMode = new SSLLowPowerMode();
+
     public SSLWebSocketModule(ReactApplicationContext reactContext) {
         super(reactContext);
+        reactContext.addLifecycleEventListener(this);
     }
 
     @Override
@@ -43,6 +74,24 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
         return NAME;
     }
 
+    /**
+     * Public Java registry for other native modules, e.g.
+     * reactContext.getNativeModule(SSLWebSocketModule.class).getConnection(wsId).
+     * The class lookup resolves the module name from @ReactModule, on the bridge and
+     * in bridgeless mode alike; reactContext.getNativeModule(SSLWebSocketModule.NAME)
+     * is the equivalent lookup by name.
+     * Frames sent with SSLWebSocketConnection.send() and messages consumed by a
+     * MessageListener never cross the bridge; open/close/error still reach JS.
+     */
+    @Nullable
+    public SSLWebSocketConnection getConnection(String wsId) {
+        return connections.get(wsId);
+    }
+
+    public Set<String> getConnectionIds() {
+        return Collections.unmodifiableSet(connections.keySet());
+    }
+
     @ReactMethod
     public void createWebSocket(
             String wsId,
@@ -59,7 +108,8 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
             }
 
             // Create event queue for this WebSocket
-            eventQueues.put(wsId, new ConcurrentLinkedQueue<>());
+            // LinkedBlockingQueue keeps size() O(1) for the synchronous stats getter
+            eventQueues.put(wsId, new LinkedBlockingQueue<>());
 
             SSLWebSocketConnection connection = new SSLWebSocketConnection(
                     wsId,
@@ -70,10 +120,18 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
                     new SSLWebSocketConnection.EventListener() {
                         @Override
                         public void onEvent(String wsId, WritableMap event) {
+                            String type = event.hasKey("type") ? event.getString("type") : null;
+
                             // Check that connection still exists
                             if (connections.containsKey(wsId)) {
                                 sendWebSocketEvent(wsId, event);
                             }
+
+                            // Handshake finished (opened or failed): free its slot once the
+                            // event is queued; the next connect starts on the scheduler thread
+                            if ("open".equals(type) || "error".equals(type)) {
+                                connectScheduler.release(wsId);
+                            }
                         }
 
                         @Override
@@ -84,9 +142,11 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
                             event.putInt("code", code);
                             event.putString("reason", reason != null ? reason : "");
                             sendWebSocketEvent(wsId, event);
+                            connectScheduler.release(wsId);
 
                             // Remove connection immediately
-                            connections.remove(wsId);
+                            SSLWebSocketConnection closed = connections.remove(wsId);
+                            rejectPendingRequests(wsId, closed, "Connection closed");
 
                             // Delay queue removal to allow time for polling to pick up the close event
                             // 1000ms delay ensures polling (which can be up to 500ms in idle) has time to retrieve the event
@@ -94,26 +154,87 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
                             handler.postDelayed(new Runnable() {
                                 @Override
                                 public void run() {
-                                    eventQueues.remove(wsId);
+                                    removeEventQueue(wsId);
                                 }
                             }, 1000); // 1000ms delay - ensures polling retrieves close event even in idle mode
                         }
-                    }
+                    },
+                    preconnectCache,
+                    sessionCacheFor(options),
+                    timer
             );
 
+            // Optional traffic capture / replay of a previous capture
+            File captureFile = captureFileFor(options, "captureFile");
+            if (captureFile != null) {
+                connection.setTrafficRecorder(new SSLTrafficRecorder(captureFile));
+            }
+            File replayFile = captureFileFor(options, "replayFile");
+            if (replayFile != null) {
+                double speed = options.hasKey("replaySpeed") ? options.getDouble("replaySpeed") : 1.0;
+                connection.setTrafficReplayer(new SSLTrafficReplayer(replayFile, speed));
+            }
+
             connections.put(wsId, connection);
-            connection.connect();
+
+            // Start the handshake once the scheduler grants a slot (immediately when uncapped)
+            connection.markAdmissionPending();
+            connectScheduler.submit(wsId, SSLConnectScheduler.priorityFor(options), connection::admit);
             
             // Resolve Promise once connection is created and initialized
             promise.resolve(null);
 
         } catch (Exception e) {
             // Clean up event queue if connection creation fails
-            eventQueues.remove(wsId);
+            removeEventQueue(wsId);
             promise.reject("connection_failed", e.getMessage(), e);
         }
     }
 
+    @ReactMethod
+    public void preconnect(String url, @Nullable ReadableMap sslConfig, @Nullable ReadableMap options, Promise promise) {
+        try {
+            if (!url.startsWith("wss://")) {
+                promise.reject("invalid_url", "preconnect requires a wss:// URL");
+                return;
+            }
+
+            List<String> expectedHashes = SSLWebSocketConnection.readPublicKeyHashes(sslConfig);
+            if (expectedHashes.isEmpty()) {
+                promise.reject("invalid_ssl_config", "preconnect requires publicKeyHashes");
+                return;
+            }
+
+            String hostname = sslConfig.hasKey("hostname")
+                    ? sslConfig.getString("hostname")
+                    : java.net.URI.create(url).getHost();
+
+            int timeout = 30000; // 30 seconds default
+            if (options != null && options.hasKey("connectionTimeout")) {
+                timeout = options.getInt("connectionTimeout");
+            }
+            long ttl = 0; // SSLPreconnectCache default
+            if (options != null && options.hasKey("ttl")) {
+                ttl = (long) options.getDouble("ttl");
+            }
+
+            preconnectCache.preconnect(url, expectedHashes, hostname, timeout, ttl, sessionCacheFor(options), new SSLPreconnectCache.Callback() {
+                @Override
+                public void onSuccess(SSLPreconnectCache.Entry entry) {
+                    promise.resolve(null);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    promise.reject("preconnect_failed", e.getMessage(), e);
+                }
+            });
+
+        } catch (Exception e) {
+            promise.reject("preconnect_failed", e.getMessage(), e);
+        }
+    }
+
     @ReactMethod
     public void closeWebSocket(String wsId, @Nullable Integer code, @Nullable String reason, Promise promise) {
         try {
@@ -150,6 +271,70 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Send the same text frame on several sockets with a single bridge call.
+     * The payload crosses the bridge once and the same immutable String is queued on
+     * every connection. Resolves with { [wsId]: { success, error? } }.
+     */
+    @ReactMethod
+    public void sendToMany(ReadableArray wsIds, String data, Promise promise) {
+        try {
+            WritableMap results = Arguments.createMap();
+
+            for (int i = 0; i < wsIds.size(); i++) {
+                String wsId = wsIds.getString(i);
+                WritableMap result = Arguments.createMap();
+
+                SSLWebSocketConnection connection = connections.get(wsId);
+                if (connection == null) {
+                    result.putBoolean("success", false);
+                    result.putString("error", "websocket_not_found");
+                } else if (connection.getReadyState() != SSLWebSocketConnection.OPEN) {
+                    result.putBoolean("success", false);
+                    result.putString("error", "invalid_state");
+                } else if (!connection.send(data)) {
+                    result.putBoolean("success", false);
+                    result.putString("error", "send_failed");
+                } else {
+                    result.putBoolean("success", true);
+                }
+
+                results.putMap(wsId, result);
+            }
+
+            promise.resolve(results);
+
+        } catch (Exception e) {
+            promise.reject("send_failed", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Send a JSON request and resolve with the response carrying the same correlation id.
+     * The id is read from idField (injected when missing); the matching response is
+     * resolved natively and skips the event queue.
+     */
+    @ReactMethod
+    public void request(String wsId, String payload, String idField, double timeoutMs, Promise promise) {
+        try {
+            SSLWebSocketConnection connection = connections.get(wsId);
+            if (connection == null) {
+                promise.reject("websocket_not_found", "WebSocket not found");
+                return;
+            }
+
+            SSLRequestTable table = requestTables.computeIfAbsent(wsId, id -> {
+                SSLRequestTable created = new SSLRequestTable(timer);
+                connection.addMessageListener(created);
+                return created;
+            });
+            table.request(connection::send, payload, idField, (long) timeoutMs, promise);
+
+        } catch (Exception e) {
+            promise.reject("request_failed", e.getMessage(), e);
+        }
+    }
+
     @ReactMethod
     public void getReadyState(String wsId, Promise promise) {
         try {
@@ -166,6 +351,77 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Blocking-synchronous (JSI) getters: no Promise, no bridge round trip.
+     * Unknown ids report CLOSED / zero.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public double getReadyStateSync(String wsId) {
+        SSLWebSocketConnection connection = connections.get(wsId);
+        return connection != null ? connection.getReadyState() : SSLWebSocketConnection.CLOSED;
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public double getBufferedAmountSync(String wsId) {
+        SSLWebSocketConnection connection = connections.get(wsId);
+        return connection != null ? connection.getBufferedAmount() : 0;
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap getStatsSync(String wsId) {
+        SSLWebSocketConnection connection = connections.get(wsId);
+        WritableMap stats;
+        if (connection != null) {
+            stats = connection.getStats();
+        } else {
+            stats = Arguments.createMap();
+            stats.putInt("readyState", SSLWebSocketConnection.CLOSED);
+        }
+        Queue<WritableMap> eventQueue = eventQueues.get(wsId);
+        stats.putInt("queuedEvents", eventQueue != null ? eventQueue.size() : 0);
+        return stats;
+    }
+
+    /**
+     * Delivery latency percentiles (ms) for receive->enqueue and enqueue->drain.
+     */
+    @ReactMethod
+    public void getLatencyStats(String wsId, Promise promise) {
+        try {
+            SSLWebSocketConnection connection = connections.get(wsId);
+            if (connection == null) {
+                promise.reject("websocket_not_found", "WebSocket not found");
+                return;
+            }
+
+            WritableMap result = Arguments.createMap();
+            result.putMap("receiveToEnqueue", connection.getReceiveToEnqueueHistogram().toMap());
+            result.putMap("enqueueToDrain", connection.getEnqueueToDrainHistogram().toMap());
+            promise.resolve(result);
+
+        } catch (Exception e) {
+            promise.reject("get_stats_failed", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void resetLatencyStats(String wsId, Promise promise) {
+        try {
+            SSLWebSocketConnection connection = connections.get(wsId);
+            if (connection == null) {
+                promise.reject("websocket_not_found", "WebSocket not found");
+                return;
+            }
+
+            connection.getReceiveToEnqueueHistogram().reset();
+            connection.getEnqueueToDrainHistogram().reset();
+            promise.resolve(null);
+
+        } catch (Exception e) {
+            promise.reject("reset_stats_failed", e.getMessage(), e);
+        }
+    }
+
     @ReactMethod
     public void getSSLValidationResult(String wsId, Promise promise) {
         try {
@@ -191,9 +447,11 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
             if (connection != null) {
                 connection.cleanup();
             }
+            rejectPendingRequests(wsId, connection, "Connection cleaned up");
+            connectScheduler.release(wsId);
             
             // Remove event queue
-            eventQueues.remove(wsId);
+            removeEventQueue(wsId);
             
             promise.resolve(null);
 
@@ -219,6 +477,8 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
             while ((event = eventQueue.poll()) != null) {
                 events.add(event);
             }
+            events = lowPowerMode.onDrained(events);
+            recordDrainLatency(wsId, events);
             
             // Convert list to WritableArray
             WritableArray eventsArray = Arguments.createArray();
@@ -233,6 +493,170 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Returns the shared disk-backed session cache when the caller opted in with
+     * options.persistentSessionCache, null otherwise (in-memory sessions only).
+     */
+    @Nullable
+    private synchronized SSLPersistentSessionCache sessionCacheFor(@Nullable ReadableMap options) {
+        if (options == null || !options.hasKey("persistentSessionCache") || !options.getBoolean("persistentSessionCache")) {
+            return null;
+        }
+        if (persistentSessionCache == null) {
+            if (!SSLPersistentSessionCache.isSupported()) {
+                android.util.Log.w("SSLWebSocket", "Persistent TLS session cache unavailable: add org.conscrypt:conscrypt-android to the app");
+                return null;
+            }
+            try {
+                // App-private directory, survives restarts but not an uninstall
+                File dir = new File(getReactApplicationContext().getFilesDir(), "sslwebsocket_sessions");
+                persistentSessionCache = new SSLPersistentSessionCache(dir);
+            } catch (Exception e) {
+                android.util.Log.w("SSLWebSocket", "Persistent TLS session cache unavailable: " + e.getMessage());
+                return null;
+            }
+        }
+        return persistentSessionCache;
+    }
+
+    /**
+     * Drain every WebSocket queue in one bridge call (used for the flush on resume).
+     * Resolves with a map of wsId to events; sockets without events are omitted.
+     */
+    @ReactMethod
+    public void pollAllEvents(Promise promise) {
+        try {
+            WritableMap result = Arguments.createMap();
+
+            for (Map.Entry<String, Queue<WritableMap>> entry : eventQueues.entrySet()) {
+                List<WritableMap> events = new ArrayList<>();
+                WritableMap event;
+                while ((event = entry.getValue().poll()) != null) {
+                    events.add(event);
+                }
+                events = lowPowerMode.onDrained(events);
+                if (events.isEmpty()) {
+                    continue;
+                }
+                recordDrainLatency(entry.getKey(), events);
+
+                WritableArray eventsArray = Arguments.createArray();
+                for (WritableMap e : events) {
+                    eventsArray.pushMap(e);
+                }
+                result.putArray(entry.getKey(), eventsArray);
+            }
+
+            promise.resolve(result);
+
+        } catch (Exception e) {
+            promise.reject("polling_failed", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cap concurrent TLS handshakes ({ maxConcurrentHandshakes, lowPriorityAgingMs },
+     * 0 = unlimited).
+     */
+    @ReactMethod
+    public void configureConnectScheduler(ReadableMap config, Promise promise) {
+        try {
+            connectScheduler.configure(config);
+            promise.resolve(null);
+        } catch (Exception e) {
+            promise.reject("configure_failed", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Active/queued handshakes and queue wait-time percentiles per priority.
+     */
+    @ReactMethod
+    public void getConnectSchedulerStats(Promise promise) {
+        try {
+            promise.resolve(connectScheduler.getStats());
+        } catch (Exception e) {
+            promise.reject("get_stats_failed", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void configureLowPowerMode(@Nullable ReadableMap config, Promise promise) {
+        try {
+            lowPowerMode.configure(config);
+            promise.resolve(null);
+        } catch (Exception e) {
+            promise.reject("configure_failed", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void onHostResume() {
+        lowPowerMode.setBackgrounded(false);
+    }
+
+    @Override
+    public void onHostPause() {
+        lowPowerMode.setBackgrounded(true);
+    }
+
+    @Override
+    public void onHostDestroy() {
+        // Nothing to do - connections are cleaned up from JS
+    }
+
+    @Override
+    public void invalidate() {
+        getReactApplicationContext().removeLifecycleEventListener(this);
+        preconnectCache.shutdown();
+        connectScheduler.shutdown();
+        timer.shutdownNow();
+        super.invalidate();
+    }
+
+    /**
+     * Resolve a capture file name from options into the app's private capture directory.
+     */
+    @Nullable
+    private File captureFileFor(@Nullable ReadableMap options, String key) {
+        if (options == null || !options.hasKey(key) || options.isNull(key)) {
+            return null;
+        }
+        // Only the file name is kept so captures can't escape the capture directory
+        String name = new File(options.getString(key)).getName();
+        return new File(new File(getReactApplicationContext().getFilesDir(), "sslwebsocket_captures"), name);
+    }
+
+    private void recordDrainLatency(String wsId, List<WritableMap> events) {
+        SSLWebSocketConnection connection = connections.get(wsId);
+        if (connection == null) {
+            return;
+        }
+        double drainedAt = SSLWebSocketConnection.monotonicMillis();
+        for (WritableMap event : events) {
+            // Open/close/error events are stamped too but are not part of message latency
+            if (event.hasKey("enqueuedAt") && "message".equals(event.getString("type"))) {
+                connection.getEnqueueToDrainHistogram()
+                        .recordNanos((long) ((drainedAt - event.getDouble("enqueuedAt")) * 1000000));
+            }
+        }
+    }
+
+    private void rejectPendingRequests(String wsId, @Nullable SSLWebSocketConnection connection, String reason) {
+        SSLRequestTable table = requestTables.remove(wsId);
+        if (table != null) {
+            if (connection != null) {
+                connection.removeMessageListener(table);
+            }
+            table.rejectAll("connection_closed", reason);
+        }
+    }
+
+    private void removeEventQueue(String wsId) {
+        eventQueues.remove(wsId);
+        lowPowerMode.onQueueRemoved(wsId);
+    }
+
     private void sendEvent(String eventName, WritableMap params) {
         if (getReactApplicationContext().hasActiveReactInstance()) {
             try {
@@ -249,13 +673,27 @@ public class SSLWebSocketModule extends ReactContextBaseJavaModule {
 
     private void sendWebSocketEvent(String wsId, WritableMap event) {
         event.putString("id", wsId);
+
+        // Stamp the enqueue time; messages also carry their socket receive time
+        double enqueuedAt = SSLWebSocketConnection.monotonicMillis();
+        event.putDouble("enqueuedAt", enqueuedAt);
+        SSLWebSocketConnection connection = connections.get(wsId);
+        if (connection != null && event.hasKey("receivedAt")) {
+            connection.getReceiveToEnqueueHistogram()
+                    .recordNanos((long) ((enqueuedAt - event.getDouble("receivedAt")) * 1000000));
+        }
         
         // Add to the specific WebSocket's event queue for polling (primary approach)
         Queue<WritableMap> eventQueue = eventQueues.get(wsId);
         if (eventQueue != null) {
             WritableMap queueEvent = Arguments.createMap();
             queueEvent.merge(event);
-            eventQueue.offer(queueEvent);
+            lowPowerMode.offer(wsId, eventQueue, queueEvent);
+        }
+
+        // Low-power mode: no bridge traffic while backgrounded, JS drains the queues on resume
+        if (lowPowerMode.isActive()) {
+            return;
         }
         
         // Also try DeviceEventEmitter (backup approach)
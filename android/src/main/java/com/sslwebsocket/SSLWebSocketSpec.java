@@ -4,6 +4,7 @@ import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.turbomodule.core.interfaces.TurboModule;
 
 /**
@@ -11,11 +12,23 @@ import com.facebook.react.turbomodule.core.interfaces.TurboModule;
  */
 public interface SSLWebSocketSpec extends TurboModule {
     void createWebSocket(String wsId, String url, ReadableArray protocols, ReadableMap sslConfig, ReadableMap options, Promise promise);
+    void preconnect(String url, ReadableMap sslConfig, ReadableMap options, Promise promise);
     void closeWebSocket(String wsId, Integer code, String reason, Promise promise);
     void sendData(String wsId, String data, Promise promise);
+    void sendToMany(ReadableArray wsIds, String data, Promise promise);
+    void request(String wsId, String payload, String idField, double timeoutMs, Promise promise);
     void getReadyState(String wsId, Promise promise);
+    double getReadyStateSync(String wsId);
+    double getBufferedAmountSync(String wsId);
+    WritableMap getStatsSync(String wsId);
+    void getLatencyStats(String wsId, Promise promise);
+    void resetLatencyStats(String wsId, Promise promise);
     void getSSLValidationResult(String wsId, Promise promise);
     void pollEvents(String wsId, Promise promise);
+    void pollAllEvents(Promise promise);
+    void configureConnectScheduler(ReadableMap config, Promise promise);
+    void getConnectSchedulerStats(Promise promise);
+    void configureLowPowerMode(ReadableMap config, Promise promise);
     void cleanup(String wsId, Promise promise);
     void addListener(String eventName);
     void removeListeners(double count);
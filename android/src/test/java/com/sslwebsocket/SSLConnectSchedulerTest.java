@@ -0,0 +1,166 @@
+package com.sslwebsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class SSLConnectSchedulerTest {
+    private static final long NO_AGING = TimeUnit.MINUTES.toMillis(10);
+
+    private ScheduledExecutorService executor;
+    private SSLConnectScheduler scheduler;
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        scheduler = new SSLConnectScheduler(executor);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void capLimitsConcurrentHandshakes() throws Exception {
+        scheduler.configure(2, NO_AGING);
+        submit("a", SSLConnectScheduler.PRIORITY_NORMAL);
+        submit("b", SSLConnectScheduler.PRIORITY_NORMAL);
+        submit("c", SSLConnectScheduler.PRIORITY_NORMAL);
+        submit("d", SSLConnectScheduler.PRIORITY_NORMAL);
+        assertStarted("a", "b");
+
+        scheduler.release("a");
+        assertStarted("a", "b", "c");
+    }
+
+    @Test
+    public void higherPriorityStartsFirst() throws Exception {
+        scheduler.configure(1, NO_AGING);
+        submit("first", SSLConnectScheduler.PRIORITY_NORMAL);
+        submit("normal", SSLConnectScheduler.PRIORITY_NORMAL);
+        submit("critical", SSLConnectScheduler.PRIORITY_CRITICAL);
+        assertStarted("first");
+
+        scheduler.release("first");
+        assertStarted("first", "critical");
+        scheduler.release("critical");
+        assertStarted("first", "critical", "normal");
+    }
+
+    @Test
+    public void lowPriorityNeverTakesTheOnlySlot() throws Exception {
+        scheduler.configure(1, NO_AGING);
+        submit("low", SSLConnectScheduler.PRIORITY_LOW);
+        assertStarted();
+
+        // The slot is still free for a critical connect
+        submit("critical", SSLConnectScheduler.PRIORITY_CRITICAL);
+        assertStarted("critical");
+    }
+
+    @Test
+    public void lowPriorityKeepsOneSlotFree() throws Exception {
+        scheduler.configure(3, NO_AGING);
+        submit("low1", SSLConnectScheduler.PRIORITY_LOW);
+        submit("low2", SSLConnectScheduler.PRIORITY_LOW);
+        submit("low3", SSLConnectScheduler.PRIORITY_LOW);
+        assertStarted("low1", "low2");
+
+        submit("critical", SSLConnectScheduler.PRIORITY_CRITICAL);
+        assertStarted("low1", "low2", "critical");
+    }
+
+    @Test
+    public void queuedLowPriorityAgesIntoTheLastSlot() throws Exception {
+        scheduler.configure(1, 50);
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.submit("low", SSLConnectScheduler.PRIORITY_LOW, () -> {
+            started.add("low");
+            latch.countDown();
+            return true;
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void agedLowPriorityIsNotStarvedByNormal() throws Exception {
+        scheduler.configure(1, 50);
+        submit("busy", SSLConnectScheduler.PRIORITY_NORMAL);
+        submit("low", SSLConnectScheduler.PRIORITY_LOW);
+        Thread.sleep(100);
+        submit("normal", SSLConnectScheduler.PRIORITY_NORMAL);
+
+        // Same effective priority once aged, so arrival order decides
+        scheduler.release("busy");
+        assertStarted("busy", "low");
+    }
+
+    @Test
+    public void releasingAQueuedConnectDropsIt() throws Exception {
+        scheduler.configure(1, NO_AGING);
+        submit("a", SSLConnectScheduler.PRIORITY_NORMAL);
+        submit("b", SSLConnectScheduler.PRIORITY_NORMAL);
+        submit("c", SSLConnectScheduler.PRIORITY_NORMAL);
+
+        scheduler.release("b");
+        scheduler.release("a");
+        assertStarted("a", "c");
+    }
+
+    @Test
+    public void connectThatDoesNotStartFreesItsSlot() throws Exception {
+        scheduler.configure(1, NO_AGING);
+        scheduler.submit("gone", SSLConnectScheduler.PRIORITY_NORMAL, () -> false);
+        submit("next", SSLConnectScheduler.PRIORITY_NORMAL);
+        flush();
+        assertStarted("next");
+    }
+
+    @Test
+    public void connectsStartOnTheSchedulerThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        scheduler.submit("a", SSLConnectScheduler.PRIORITY_NORMAL, () -> {
+            threads.add(Thread.currentThread());
+            return true;
+        });
+        flush();
+        assertEquals(1, threads.size());
+        assertFalse(threads.get(0) == caller);
+    }
+
+    private void submit(String wsId, int priority) {
+        scheduler.submit(wsId, priority, () -> {
+            started.add(wsId);
+            return true;
+        });
+    }
+
+    /**
+     * Wait for the starts already posted to the scheduler thread.
+     */
+    private void flush() throws Exception {
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private void assertStarted(String... expected) throws Exception {
+        flush();
+        assertEquals(Arrays.asList(expected), new ArrayList<>(started));
+    }
+}
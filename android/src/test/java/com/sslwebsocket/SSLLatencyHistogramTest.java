@@ -0,0 +1,122 @@
+package com.sslwebsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SSLLatencyHistogramTest {
+    // Far above every value under test, so bucket bounds are not capped by the max
+    private static final long LARGE = 1L << 30;
+
+    private final SSLLatencyHistogram histogram = new SSLLatencyHistogram();
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        assertEquals(0, histogram.percentileMicros(50));
+        assertEquals(0, histogram.percentileMicros(100));
+    }
+
+    @Test
+    public void knownPercentiles() {
+        for (long micros = 1; micros <= 100; micros++) {
+            record(micros);
+        }
+
+        // Exact below 64us, then two values per bucket
+        assertEquals(50, histogram.percentileMicros(50));
+        assertEquals(91, histogram.percentileMicros(90));
+        assertEquals(99, histogram.percentileMicros(99));
+        // Capped by the max rather than the bucket bound (101)
+        assertEquals(100, histogram.percentileMicros(100));
+    }
+
+    @Test
+    public void percentileRoundsUpToAWholeSample() {
+        record(10);
+        record(20);
+        record(30);
+
+        assertEquals(10, histogram.percentileMicros(1));
+        assertEquals(10, histogram.percentileMicros(33));
+        assertEquals(20, histogram.percentileMicros(34));
+        assertEquals(30, histogram.percentileMicros(100));
+    }
+
+    @Test
+    public void powerOfTwoBoundaries() {
+        assertUpperBound(31, 31);
+        assertUpperBound(32, 32);
+        assertUpperBound(63, 63);
+        assertUpperBound(64, 65);
+        assertUpperBound(65, 65);
+        assertUpperBound(127, 127);
+        assertUpperBound(128, 131);
+        assertUpperBound(1023, 1023);
+        assertUpperBound(1024, 1055);
+        assertUpperBound(1L << 20, (1L << 20) + (1L << 15) - 1);
+    }
+
+    @Test
+    public void relativeErrorStaysWithinOneSubBucket() {
+        for (long micros = 1; micros < LARGE; micros = micros * 3 / 2 + 1) {
+            SSLLatencyHistogram single = new SSLLatencyHistogram();
+            single.recordNanos(micros * 1000);
+            single.recordNanos(LARGE * 1000);
+            long bound = single.percentileMicros(50);
+            assertTrue(bound >= micros);
+            assertTrue(bound - micros <= micros / 32);
+        }
+    }
+
+    @Test
+    public void subMicrosecondAndNegativeValuesCountAsZero() {
+        histogram.recordNanos(999);
+        histogram.recordNanos(-5000);
+
+        assertEquals(0, histogram.percentileMicros(100));
+    }
+
+    @Test
+    public void overflowBucketReportsTheMax() {
+        long overflow = 1L << 45;
+        record(10);
+        record(overflow);
+
+        assertEquals(10, histogram.percentileMicros(50));
+        assertEquals(overflow, histogram.percentileMicros(100));
+    }
+
+    @Test
+    public void lastRegularBucketIsNotTheOverflowBucket() {
+        long lastRegular = (1L << 41) - 1;
+        record(lastRegular);
+        record(1L << 50);
+
+        assertEquals(lastRegular, histogram.percentileMicros(50));
+        assertEquals(1L << 50, histogram.percentileMicros(100));
+    }
+
+    @Test
+    public void resetClearsCountsAndMax() {
+        record(LARGE);
+        record(LARGE);
+        histogram.reset();
+
+        assertEquals(0, histogram.percentileMicros(50));
+        record(100);
+        assertEquals(100, histogram.percentileMicros(50));
+        assertEquals(100, histogram.percentileMicros(100));
+    }
+
+    private void record(long micros) {
+        histogram.recordNanos(micros * 1000);
+    }
+
+    private void assertUpperBound(long micros, long expected) {
+        SSLLatencyHistogram single = new SSLLatencyHistogram();
+        single.recordNanos(micros * 1000);
+        single.recordNanos(LARGE * 1000);
+        assertEquals(expected, single.percentileMicros(50));
+    }
+}
@@ -0,0 +1,212 @@
+package com.sslwebsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.WritableMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class SSLLowPowerModeTest {
+    private SSLLowPowerMode lowPowerMode;
+    private final Queue<WritableMap> chatty = new LinkedBlockingQueue<>();
+    private final Queue<WritableMap> quiet = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() {
+        lowPowerMode = new SSLLowPowerMode();
+    }
+
+    @Test
+    public void foregroundEventsAreNotTracked() {
+        configure(10, false);
+        WritableMap event = message(repeat('a', 100));
+        lowPowerMode.offer("chatty", chatty, event);
+
+        assertEquals(0, lowPowerMode.getBufferedBytes());
+        assertEquals(Arrays.asList(event), drain(chatty));
+    }
+
+    @Test
+    public void sizesAreCountedInUtf8Bytes() {
+        configure(1000, false);
+        lowPowerMode.setBackgrounded(true);
+        // 2 + 3 + 4 bytes
+        lowPowerMode.offer("chatty", chatty, message("\u00e9\u20ac\ud83d\ude00"));
+
+        assertEquals(9, lowPowerMode.getBufferedBytes());
+    }
+
+    @Test
+    public void globalCapEvictsOldestMessageOfLargestSocket() {
+        configure(100, false);
+        lowPowerMode.setBackgrounded(true);
+        WritableMap quietMessage = message(repeat('q', 10));
+        WritableMap first = message(repeat('a', 40));
+        WritableMap second = message(repeat('b', 40));
+        WritableMap third = message(repeat('c', 40));
+        lowPowerMode.offer("quiet", quiet, quietMessage);
+        lowPowerMode.offer("chatty", chatty, first);
+        lowPowerMode.offer("chatty", chatty, second);
+        lowPowerMode.offer("chatty", chatty, third);
+
+        assertEquals(90, lowPowerMode.getBufferedBytes());
+        assertTrue(first.isNull("data"));
+        assertEquals(Arrays.asList(quietMessage), drain(quiet));
+        assertEquals(Arrays.asList(second, third), drain(chatty));
+        assertEquals(0, lowPowerMode.getBufferedBytes());
+    }
+
+    @Test
+    public void equalMessagesAreTrackedByIdentity() {
+        configure(100, false);
+        lowPowerMode.setBackgrounded(true);
+        String data = repeat('x', 40);
+        WritableMap first = message(data);
+        WritableMap second = message(data);
+        WritableMap third = message(data);
+        lowPowerMode.offer("chatty", chatty, first);
+        lowPowerMode.offer("chatty", chatty, second);
+        lowPowerMode.offer("chatty", chatty, third);
+
+        List<WritableMap> delivered = drain(chatty);
+        assertEquals(2, delivered.size());
+        assertSame(second, delivered.get(0));
+        assertSame(third, delivered.get(1));
+        assertEquals(data, second.getString("data"));
+        assertEquals(0, lowPowerMode.getBufferedBytes());
+    }
+
+    @Test
+    public void droppableTypesAreDroppedWithoutConflation() {
+        configure(1000, false);
+        lowPowerMode.setBackgrounded(true);
+        lowPowerMode.offer("chatty", chatty, message("{\"type\":\"tick\",\"n\":1}"));
+
+        assertTrue(chatty.isEmpty());
+        assertEquals(0, lowPowerMode.getBufferedBytes());
+    }
+
+    @Test
+    public void conflationKeepsLatestOfEachType() {
+        configure(1000, true);
+        lowPowerMode.setBackgrounded(true);
+        WritableMap oldTick = message("{\"type\":\"tick\",\"n\":1}");
+        WritableMap chat = message("{\"type\":\"chat\",\"n\":2}");
+        WritableMap newTick = message("{\"type\":\"tick\",\"n\":3}");
+        lowPowerMode.offer("chatty", chatty, oldTick);
+        lowPowerMode.offer("chatty", chatty, chat);
+        lowPowerMode.offer("chatty", chatty, newTick);
+
+        // The superseded tick stays queued as a tombstone until drained
+        assertEquals(3, chatty.size());
+        assertTrue(oldTick.isNull("data"));
+        assertEquals(Arrays.asList(chat, newTick), drain(chatty));
+        assertEquals(0, lowPowerMode.getBufferedBytes());
+    }
+
+    @Test
+    public void evictedSocketQueueIsSwept() {
+        configure(1064, false);
+        lowPowerMode.setBackgrounded(true);
+        for (int i = 0; i < 64; i++) {
+            lowPowerMode.offer("chatty", chatty, message("a"));
+        }
+        WritableMap large = message(repeat('b', 1000));
+        lowPowerMode.offer("chatty", chatty, large);
+        // Every quiet message pushes the total over the cap and evicts a chatty one
+        for (int i = 0; i < 64; i++) {
+            lowPowerMode.offer("quiet", quiet, message("q"));
+        }
+
+        assertEquals(1, chatty.size());
+        assertEquals(64, quiet.size());
+        assertEquals(1064, lowPowerMode.getBufferedBytes());
+        assertEquals(Arrays.asList(large), drain(chatty));
+        assertEquals(64, drain(quiet).size());
+        assertEquals(0, lowPowerMode.getBufferedBytes());
+    }
+
+    @Test
+    public void evictionSkipsDrainedAndDroppedMessages() {
+        configure(30, false);
+        lowPowerMode.setBackgrounded(true);
+        WritableMap first = message(repeat('a', 10));
+        WritableMap second = message(repeat('b', 10));
+        lowPowerMode.offer("chatty", chatty, first);
+        lowPowerMode.offer("chatty", chatty, second);
+        // Drain only the first message
+        assertEquals(Arrays.asList(first), lowPowerMode.onDrained(Arrays.asList(chatty.poll())));
+
+        WritableMap third = message(repeat('c', 10));
+        WritableMap fourth = message(repeat('d', 15));
+        lowPowerMode.offer("chatty", chatty, third);
+        lowPowerMode.offer("chatty", chatty, fourth);
+
+        assertEquals(repeat('a', 10), first.getString("data"));
+        assertTrue(second.isNull("data"));
+        assertFalse(third.isNull("data"));
+        assertEquals(25, lowPowerMode.getBufferedBytes());
+        assertEquals(Arrays.asList(third, fourth), drain(chatty));
+    }
+
+    @Test
+    public void removedQueueReleasesItsBytes() {
+        configure(1000, false);
+        lowPowerMode.setBackgrounded(true);
+        lowPowerMode.offer("chatty", chatty, message(repeat('a', 10)));
+        lowPowerMode.offer("quiet", quiet, message(repeat('q', 5)));
+
+        lowPowerMode.onQueueRemoved("chatty");
+        assertEquals(5, lowPowerMode.getBufferedBytes());
+    }
+
+    @Test
+    public void openAndCloseEventsAreAlwaysKept() {
+        configure(10, false);
+        lowPowerMode.setBackgrounded(true);
+        WritableMap open = JavaOnlyMap.of("type", "open");
+        lowPowerMode.offer("chatty", chatty, open);
+        lowPowerMode.offer("chatty", chatty, message(repeat('a', 20)));
+
+        assertEquals(Arrays.asList(open), drain(chatty));
+    }
+
+    private void configure(double maxBufferedBytes, boolean conflate) {
+        lowPowerMode.configure(JavaOnlyMap.of(
+                "enabled", true,
+                "maxBufferedBytes", maxBufferedBytes,
+                "droppableTypes", JavaOnlyArray.of("tick"),
+                "conflate", conflate));
+    }
+
+    private List<WritableMap> drain(Queue<WritableMap> queue) {
+        List<WritableMap> events = new ArrayList<>();
+        WritableMap event;
+        while ((event = queue.poll()) != null) {
+            events.add(event);
+        }
+        return lowPowerMode.onDrained(events);
+    }
+
+    private static WritableMap message(String data) {
+        return JavaOnlyMap.of("type", "message", "data", data);
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,219 @@
+package com.sslwebsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.facebook.react.bridge.Promise;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okio.ByteString;
+
+public class SSLRequestTableTest {
+    private static final String WS_ID = "ws_test";
+
+    private ScheduledExecutorService timer;
+    private SSLRequestTable table;
+    private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+    private boolean sendSucceeds = true;
+
+    @Before
+    public void setUp() {
+        timer = Executors.newSingleThreadScheduledExecutor();
+        table = new SSLRequestTable(timer);
+    }
+
+    @After
+    public void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    public void injectsMissingId() throws Exception {
+        FakePromise promise = request("{\"method\":\"ping\"}", "id", 0);
+
+        String id = new JSONObject(sent.get(0)).optString("id", null);
+        assertTrue(id.startsWith("rpc_"));
+        assertEquals("ping", new JSONObject(sent.get(0)).optString("method", null));
+
+        String response = "{\"id\":\"" + id + "\",\"result\":\"pong\"}";
+        assertTrue(table.onTextMessage(WS_ID, response));
+        assertEquals(response, promise.resolved);
+    }
+
+    @Test
+    public void keepsExistingIdAndField() throws Exception {
+        FakePromise promise = request("{\"seq\":7,\"method\":\"ping\"}", "seq", 0);
+
+        assertEquals("7", new JSONObject(sent.get(0)).opt("seq").toString());
+        assertFalse(new JSONObject(sent.get(0)).has("id"));
+
+        // A response keyed by another field is not ours
+        assertFalse(table.onTextMessage(WS_ID, "{\"id\":7}"));
+        assertTrue(table.onTextMessage(WS_ID, "{\"seq\":7,\"result\":1}"));
+        assertEquals("{\"seq\":7,\"result\":1}", promise.resolved);
+    }
+
+    @Test
+    public void numericAndStringIdsMatch() {
+        FakePromise numeric = request("{\"id\":7}", "id", 0);
+        FakePromise string = request("{\"id\":\"8\"}", "id", 0);
+
+        assertTrue(table.onTextMessage(WS_ID, "{\"id\":\"7\"}"));
+        assertTrue(table.onTextMessage(WS_ID, "{\"id\":8}"));
+        assertEquals("{\"id\":\"7\"}", numeric.resolved);
+        assertEquals("{\"id\":8}", string.resolved);
+    }
+
+    @Test
+    public void unrelatedMessagesAreNotConsumed() {
+        FakePromise promise = request("{\"id\":1}", "id", 0);
+
+        assertFalse(table.onTextMessage(WS_ID, "plain text"));
+        assertFalse(table.onTextMessage(WS_ID, "{\"type\":\"chat\"}"));
+        assertFalse(table.onTextMessage(WS_ID, "{\"id\":2}"));
+        assertFalse(table.onTextMessage(WS_ID, "{\"id\":"));
+        assertFalse(table.onBinaryMessage(WS_ID, ByteString.of(new byte[]{'{'})));
+        assertNull(promise.resolved);
+        assertNull(promise.rejectCode);
+
+        // Resolved once, so a repeated response goes to the event queue
+        assertTrue(table.onTextMessage(WS_ID, "{\"id\":1}"));
+        assertFalse(table.onTextMessage(WS_ID, "{\"id\":1}"));
+    }
+
+    @Test
+    public void duplicatePendingIdIsRejected() {
+        FakePromise first = request("{\"id\":1}", "id", 0);
+        FakePromise second = request("{\"id\":1}", "id", 0);
+
+        assertEquals("request_exists", second.rejectCode);
+        assertEquals(1, sent.size());
+        assertTrue(table.onTextMessage(WS_ID, "{\"id\":1}"));
+        assertEquals("{\"id\":1}", first.resolved);
+    }
+
+    @Test
+    public void sameIdIsIndependentAcrossFields() {
+        FakePromise byId = request("{\"id\":1}", "id", 0);
+        FakePromise bySeq = request("{\"seq\":1}", "seq", 0);
+
+        assertNull(bySeq.rejectCode);
+        assertTrue(table.onTextMessage(WS_ID, "{\"seq\":1}"));
+        assertEquals("{\"seq\":1}", bySeq.resolved);
+        assertNull(byId.resolved);
+    }
+
+    @Test
+    public void timeoutRejectsAndFreesTheId() throws Exception {
+        FakePromise promise = request("{\"id\":1}", "id", 50);
+
+        assertTrue(promise.await());
+        assertEquals("request_timeout", promise.rejectCode);
+        // A late response is no longer consumed
+        assertFalse(table.onTextMessage(WS_ID, "{\"id\":1}"));
+
+        FakePromise retry = request("{\"id\":1}", "id", 0);
+        assertNull(retry.rejectCode);
+    }
+
+    @Test
+    public void resolvedRequestDoesNotTimeOut() throws Exception {
+        FakePromise promise = request("{\"id\":1}", "id", 50);
+        assertTrue(table.onTextMessage(WS_ID, "{\"id\":1}"));
+
+        Thread.sleep(150);
+        assertNull(promise.rejectCode);
+    }
+
+    @Test
+    public void rejectAllRejectsEveryPendingRequest() {
+        FakePromise first = request("{\"id\":1}", "id", 0);
+        FakePromise second = request("{\"seq\":2}", "seq", 60000);
+
+        table.rejectAll("connection_closed", "Connection closed");
+
+        assertEquals("connection_closed", first.rejectCode);
+        assertEquals("connection_closed", second.rejectCode);
+        assertFalse(table.onTextMessage(WS_ID, "{\"id\":1}"));
+        assertFalse(table.onTextMessage(WS_ID, "{\"seq\":2}"));
+    }
+
+    @Test
+    public void invalidPayloadIsRejected() {
+        FakePromise notJson = request("not json", "id", 0);
+        FakePromise array = request("[1,2]", "id", 0);
+
+        assertEquals("invalid_payload", notJson.rejectCode);
+        assertEquals("invalid_payload", array.rejectCode);
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void failedSendRejectsAndFreesTheId() {
+        sendSucceeds = false;
+        FakePromise failed = request("{\"id\":1}", "id", 0);
+        assertEquals("send_failed", failed.rejectCode);
+
+        sendSucceeds = true;
+        FakePromise retry = request("{\"id\":1}", "id", 0);
+        assertNull(retry.rejectCode);
+        assertTrue(table.onTextMessage(WS_ID, "{\"id\":1}"));
+        assertEquals("{\"id\":1}", retry.resolved);
+    }
+
+    private FakePromise request(String payload, String idField, long timeoutMs) {
+        FakePromise promise = new FakePromise();
+        table.request(text -> {
+            if (!sendSucceeds) {
+                return false;
+            }
+            sent.add(text);
+            return true;
+        }, payload, idField, timeoutMs, promise.proxy);
+        return promise;
+    }
+
+    /**
+     * Records the outcome of a Promise; a Proxy so every reject overload is covered.
+     */
+    private static class FakePromise {
+        volatile Object resolved;
+        volatile String rejectCode;
+        final CountDownLatch settled = new CountDownLatch(1);
+        final Promise proxy = (Promise) Proxy.newProxyInstance(
+                Promise.class.getClassLoader(),
+                new Class<?>[]{Promise.class},
+                (instance, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(this, args);
+                    }
+                    if ("resolve".equals(method.getName())) {
+                        resolved = args[0];
+                        settled.countDown();
+                    } else if ("reject".equals(method.getName())) {
+                        rejectCode = args[0] instanceof String ? (String) args[0] : "error";
+                        settled.countDown();
+                    }
+                    return null;
+                });
+
+        boolean await() throws InterruptedException {
+            return settled.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
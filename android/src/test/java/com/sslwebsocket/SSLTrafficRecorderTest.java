@@ -0,0 +1,113 @@
+package com.sslwebsocket;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import okio.ByteString;
+
+public class SSLTrafficRecorderTest {
+    private static final int CHUNK_SIZE = 256;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripAcrossChunks() throws Exception {
+        File capture = folder.newFile("capture.bin");
+        SSLTrafficRecorder recorder = new SSLTrafficRecorder(capture, CHUNK_SIZE);
+        recorder.recordOpen("chat");
+        // 100 frames of ~40 bytes roll over the 256 byte window many times
+        for (int i = 0; i < 100; i++) {
+            byte direction = i % 2 == 0 ? SSLTrafficRecorder.DIRECTION_IN : SSLTrafficRecorder.DIRECTION_OUT;
+            recorder.recordText(direction, "message-" + i);
+        }
+        recorder.recordClose(1000, "bye");
+        recorder.close();
+
+        SSLTrafficReader reader = new SSLTrafficReader(capture);
+        assertFrame(reader.next(), SSLTrafficRecorder.DIRECTION_IN, SSLTrafficRecorder.FRAME_OPEN, "chat");
+        long previousTimestamp = Long.MIN_VALUE;
+        for (int i = 0; i < 100; i++) {
+            SSLTrafficReader.Frame frame = reader.next();
+            byte direction = i % 2 == 0 ? SSLTrafficRecorder.DIRECTION_IN : SSLTrafficRecorder.DIRECTION_OUT;
+            assertFrame(frame, direction, SSLTrafficRecorder.FRAME_TEXT, "message-" + i);
+            assertTrue(frame.timestamp >= previousTimestamp);
+            previousTimestamp = frame.timestamp;
+        }
+        SSLTrafficReader.Frame close = reader.next();
+        assertEquals(SSLTrafficRecorder.FRAME_CLOSE, close.frameType);
+        assertEquals(1000, ((close.payload[0] & 0xff) << 8) | (close.payload[1] & 0xff));
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void oversizedFrameGetsItsOwnWindow() throws Exception {
+        File capture = folder.newFile("oversized.bin");
+        byte[] large = new byte[CHUNK_SIZE * 3 + 17];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (byte) i;
+        }
+
+        SSLTrafficRecorder recorder = new SSLTrafficRecorder(capture, CHUNK_SIZE);
+        recorder.recordText(SSLTrafficRecorder.DIRECTION_IN, "before");
+        recorder.recordBinary(SSLTrafficRecorder.DIRECTION_IN, ByteString.of(large));
+        recorder.recordText(SSLTrafficRecorder.DIRECTION_IN, "after");
+        recorder.close();
+
+        SSLTrafficReader reader = new SSLTrafficReader(capture);
+        assertFrame(reader.next(), SSLTrafficRecorder.DIRECTION_IN, SSLTrafficRecorder.FRAME_TEXT, "before");
+        SSLTrafficReader.Frame binary = reader.next();
+        assertEquals(SSLTrafficRecorder.FRAME_BINARY, binary.frameType);
+        assertArrayEquals(large, binary.payload);
+        assertFrame(reader.next(), SSLTrafficRecorder.DIRECTION_IN, SSLTrafficRecorder.FRAME_TEXT, "after");
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void newSessionReplacesPreviousCapture() throws Exception {
+        File capture = folder.newFile("sessions.bin");
+        SSLTrafficRecorder first = new SSLTrafficRecorder(capture, CHUNK_SIZE);
+        first.recordText(SSLTrafficRecorder.DIRECTION_IN, "first session");
+        first.close();
+
+        SSLTrafficRecorder second = new SSLTrafficRecorder(capture, CHUNK_SIZE);
+        second.recordText(SSLTrafficRecorder.DIRECTION_IN, "second session");
+        second.close();
+
+        SSLTrafficReader reader = new SSLTrafficReader(capture);
+        assertFrame(reader.next(), SSLTrafficRecorder.DIRECTION_IN, SSLTrafficRecorder.FRAME_TEXT, "second session");
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void readerStopsAtZeroFilledTail() throws Exception {
+        File capture = folder.newFile("unclosed.bin");
+        SSLTrafficRecorder recorder = new SSLTrafficRecorder(capture, CHUNK_SIZE);
+        recorder.recordText(SSLTrafficRecorder.DIRECTION_IN, "only frame");
+        // Not closed: the file still holds the zero-filled rest of the window
+
+        SSLTrafficReader reader = new SSLTrafficReader(capture);
+        assertFrame(reader.next(), SSLTrafficRecorder.DIRECTION_IN, SSLTrafficRecorder.FRAME_TEXT, "only frame");
+        assertNull(reader.next());
+        reader.close();
+        recorder.close();
+    }
+
+    private static void assertFrame(SSLTrafficReader.Frame frame, byte direction, byte frameType, String payload) {
+        assertEquals(direction, frame.direction);
+        assertEquals(frameType, frame.frameType);
+        assertEquals(payload, new String(frame.payload, StandardCharsets.UTF_8));
+    }
+}
@@ -18,6 +18,29 @@ export interface Spec extends TurboModule {
     options?: {
       allowSelfSignedCerts?: boolean;
       connectionTimeout?: number;
+      persistentSessionCache?: boolean;
+      captureFile?: string;
+      replayFile?: string;
+      replaySpeed?: number;
+      alternateUrls?: string[];
+      endpointStaggerDelay?: number;
+      priority?: string;
+    }
+  ): Promise<void>;
+
+  /**
+   * Warm DNS, TCP and TLS (including the pin check) for a later createWebSocket
+   */
+  preconnect(
+    url: string,
+    sslConfig: {
+      hostname: string;
+      publicKeyHashes: string[];
+    },
+    options?: {
+      connectionTimeout?: number;
+      ttl?: number;
+      persistentSessionCache?: boolean;
     }
   ): Promise<void>;
 
@@ -31,11 +54,54 @@ export interface Spec extends TurboModule {
    */
   sendData(id: string, data: string): Promise<void>;
 
+  /**
+   * Send the same data on several WebSockets in one call
+   */
+  sendToMany(ids: string[], data: string): Promise<{
+    [id: string]: { success: boolean; error?: string };
+  }>;
+
+  /**
+   * Send a JSON request and resolve with the raw response text matched by correlation id
+   */
+  request(id: string, payload: string, idField: string, timeoutMs: number): Promise<string>;
+
   /**
    * Get current WebSocket state
    */
   getReadyState(id: string): Promise<number>;
 
+  /**
+   * Synchronous getters (blocking JSI calls, no Promise)
+   */
+  getReadyStateSync(id: string): number;
+  getBufferedAmountSync(id: string): number;
+  getStatsSync(id: string): {
+    readyState: number;
+    bufferedAmount?: number;
+    queuedEvents: number;
+    messagesReceived?: number;
+    messagesSent?: number;
+    bytesReceived?: number;
+    bytesSent?: number;
+    endpoint?: string;
+    connectTime?: number;
+    timeToFirstByte?: number;
+  };
+
+  /**
+   * Delivery latency percentiles (ms) for receive->enqueue and enqueue->drain
+   */
+  getLatencyStats(id: string): Promise<{
+    receiveToEnqueue: { count: number; p50: number; p90: number; p99: number; max: number };
+    enqueueToDrain: { count: number; p50: number; p90: number; p99: number; max: number };
+  }>;
+
+  /**
+   * Reset delivery latency histograms
+   */
+  resetLatencyStats(id: string): Promise<void>;
+
   /**
    * Get SSL validation result
    */
@@ -52,6 +118,32 @@ export interface Spec extends TurboModule {
    */
   pollEvents(id: string): Promise<any[]>;
 
+  /**
+   * Poll events of every WebSocket in one call (wsId -> events)
+   */
+  pollAllEvents(): Promise<{ [id: string]: any[] }>;
+
+  /**
+   * Cap concurrent TLS handshakes
+   */
+  configureConnectScheduler(config: { maxConcurrentHandshakes: number; lowPriorityAgingMs?: number }): Promise<void>;
+
+  /**
+   * Handshake scheduler state and wait times
+   */
+  getConnectSchedulerStats(): Promise<Object>;
+
+  /**
+   * Configure background buffering
+   */
+  configureLowPowerMode(config: {
+    enabled: boolean;
+    maxBufferedBytes?: number;
+    droppableTypes?: string[];
+    typeField?: string;
+    conflate?: boolean;
+  }): Promise<void>;
+
   /**
    * Clean up WebSocket resources
    */
@@ -1,9 +1,20 @@
+import { AppState } from 'react-native';
+import type { AppStateStatus } from 'react-native';
 // @ts-ignore
 import NativeSSLWebSocket from './NativeSSLWebSocket';
 import type {
   WebSocketConfig,
+  SSLPinningConfig,
+  PreconnectOptions,
+  RequestOptions,
+  SendResult,
+  LowPowerModeConfig,
+  ConnectSchedulerConfig,
+  ConnectSchedulerStats,
   WebSocketEvent,
   SSLValidationResult,
+  WebSocketStats,
+  LatencyStats,
   EventListener,
   SSLWebSocketInterface,
   EventListenerMap,
@@ -59,6 +70,12 @@ export class SSLWebSocket implements SSLWebSocketInterface {
   private _pollingActive: boolean = false;
   private _isConnecting: boolean = false; // Flag to prevent multiple connect() calls
 
+  // Polling instances, used to dispatch the batched flush on resume
+  private static _instances: Set<SSLWebSocket> = new Set();
+  private static _lowPowerEnabled: boolean = false;
+  private static _inBackground: boolean = false;
+  private static _appStateSubscription: { remove(): void } | null = null;
+
   constructor(config: WebSocketConfig) {
     this._id = this._generateId();
     this._url = config.url;
@@ -79,6 +96,47 @@ export class SSLWebSocket implements SSLWebSocketInterface {
     return this._protocol;
   }
 
+  /**
+   * Bytes queued natively and not yet written to the socket.
+   * Synchronous native read (0 when sync getters are unavailable).
+   */
+  get bufferedAmount(): number {
+    if (typeof NativeModule.getBufferedAmountSync !== 'function') {
+      return 0;
+    }
+    return NativeModule.getBufferedAmountSync(this._id);
+  }
+
+  /**
+   * Native ready state, event queue depth and message counters,
+   * read synchronously without awaiting a bridge round trip.
+   */
+  getStats(): WebSocketStats {
+    const stats = typeof NativeModule.getStatsSync === 'function'
+      ? NativeModule.getStatsSync(this._id)
+      : null;
+    return {
+      readyState: stats?.readyState ?? this._readyState,
+      bufferedAmount: stats?.bufferedAmount ?? 0,
+      queuedEvents: stats?.queuedEvents ?? 0,
+      messagesReceived: stats?.messagesReceived ?? 0,
+      messagesSent: stats?.messagesSent ?? 0,
+      bytesReceived: stats?.bytesReceived ?? 0,
+      bytesSent: stats?.bytesSent ?? 0,
+      endpoint: stats?.endpoint,
+      connectTime: stats?.connectTime,
+      timeToFirstByte: stats?.timeToFirstByte,
+    };
+  }
+
+  /**
+   * Native connection id, to hand over to other native modules using the
+   * Java registry (SSLWebSocketModule.getConnection)
+   */
+  get id(): string {
+    return this._id;
+  }
+
   // Getters for testing purposes
   get _testId(): string {
     return this._id;
@@ -249,6 +307,29 @@ export class SSLWebSocket implements SSLWebSocketInterface {
     NativeModule.sendData(this._id, stringData);
   }
 
+  /**
+   * Send a JSON request and resolve with the parsed response that carries the same
+   * correlation id. Matching and timeouts are handled natively, so the response
+   * does not go through event polling. Android only.
+   */
+  async request<T = any>(payload: object | string, options?: RequestOptions): Promise<T> {
+    if (typeof NativeModule.request !== 'function') {
+      throw new Error('request() is not supported on this platform (Android only)');
+    }
+    if (this._readyState !== WebSocketReadyState.OPEN) {
+      throw new Error('WebSocket is not open');
+    }
+
+    const body = typeof payload === 'string' ? payload : JSON.stringify(payload);
+    const response: string = await NativeModule.request(
+      this._id,
+      body,
+      options?.idField ?? 'id',
+      options?.timeout ?? 30000
+    );
+    return JSON.parse(response) as T;
+  }
+
   addEventListener<K extends keyof EventListenerMap>(type: K, listener: EventListenerMap[K]): void {
     if (!this._listeners.has(type)) {
       this._listeners.set(type, new Set());
@@ -279,6 +360,31 @@ export class SSLWebSocket implements SSLWebSocketInterface {
     }
   }
 
+  /**
+   * Message delivery latency percentiles (ms), split into socket read -> native queue
+   * and native queue -> JS poll, to tell native overhead from bridge overhead.
+   * @returns Promise<LatencyStats | null>
+   */
+  async getLatencyStats(): Promise<LatencyStats | null> {
+    try {
+      const result = await NativeModule.getLatencyStats(this._id);
+      return result || null;
+    } catch {
+      return null;
+    }
+  }
+
+  /**
+   * Reset the delivery latency histograms
+   */
+  async resetLatencyStats(): Promise<void> {
+    try {
+      await NativeModule.resetLatencyStats(this._id);
+    } catch {
+      // Connection gone or not supported on this platform
+    }
+  }
+
   /**
    * Synchronize the ready state with the native side.
    * This is critical for iOS where JS timers are suspended in background,
@@ -309,8 +415,10 @@ export class SSLWebSocket implements SSLWebSocketInterface {
         return currentState;
       }
 
-      // Check the native ready state
-      const nativeState = await NativeModule.getReadyState(this._id);
+      // Check the native ready state (synchronous getter when available)
+      const nativeState = typeof NativeModule.getReadyStateSync === 'function'
+        ? NativeModule.getReadyStateSync(this._id)
+        : await NativeModule.getReadyState(this._id);
       
       // If native side says we're closed but JS thinks we're open,
       // we missed the close event (common on iOS background)
@@ -349,6 +457,64 @@ export class SSLWebSocket implements SSLWebSocketInterface {
     return this._readyState;
   }
 
+  /**
+   * Configure the background low-power mode for all sockets.
+   * While the app is in background, native stops bridge traffic and buffers events
+   * (dropping or conflating `droppableTypes`), and JS polling is paused.
+   * On resume every socket is drained with a single native call.
+   */
+  static async configureLowPowerMode(config: LowPowerModeConfig): Promise<void> {
+    SSLWebSocket._lowPowerEnabled = config.enabled;
+
+    if (config.enabled && !SSLWebSocket._appStateSubscription) {
+      SSLWebSocket._inBackground = AppState.currentState !== 'active';
+      SSLWebSocket._appStateSubscription = AppState.addEventListener(
+        'change',
+        SSLWebSocket._handleAppStateChange
+      );
+    } else if (!config.enabled && SSLWebSocket._appStateSubscription) {
+      SSLWebSocket._appStateSubscription.remove();
+      SSLWebSocket._appStateSubscription = null;
+      SSLWebSocket._inBackground = false;
+    }
+
+    if (typeof NativeModule.configureLowPowerMode === 'function') {
+      await NativeModule.configureLowPowerMode(config);
+    }
+  }
+
+  private static _handleAppStateChange(state: AppStateStatus): void {
+    const wasInBackground = SSLWebSocket._inBackground;
+    SSLWebSocket._inBackground = state !== 'active';
+
+    if (wasInBackground && !SSLWebSocket._inBackground) {
+      SSLWebSocket._flushAfterResume();
+    }
+  }
+
+  /**
+   * Deliver everything buffered while in background in one batched bridge call
+   */
+  private static async _flushAfterResume(): Promise<void> {
+    if (typeof NativeModule.pollAllEvents !== 'function') {
+      return;
+    }
+
+    try {
+      const eventsById = await NativeModule.pollAllEvents();
+      SSLWebSocket._instances.forEach((instance) => {
+        const events = eventsById ? eventsById[instance._id] : undefined;
+        if (Array.isArray(events)) {
+          for (const event of events) {
+            instance._handleWebSocketEvent(event, 'resume');
+          }
+        }
+      });
+    } catch (error) {
+      console.error('[SSLWebSocket] Error during resume flush:', error);
+    }
+  }
+
   /**
    * Start intelligent event polling
    */
@@ -358,12 +524,19 @@ export class SSLWebSocket implements SSLWebSocketInterface {
     }
 
     this._pollingActive = true;
+    SSLWebSocket._instances.add(this);
 
     const poll = async () => {
       if (!this._pollingActive) {
         return;
       }
 
+      // Low-power mode: no bridge calls while in background, the resume flush catches up
+      if (SSLWebSocket._lowPowerEnabled && SSLWebSocket._inBackground) {
+        this._pollingInterval = setTimeout(poll, 1000);
+        return;
+      }
+
       try {
         const events = await NativeModule.pollEvents(this._id);
 
@@ -401,6 +574,7 @@ export class SSLWebSocket implements SSLWebSocketInterface {
     }
 
     this._pollingActive = false;
+    SSLWebSocket._instances.delete(this);
 
     if (this._pollingInterval) {
       clearTimeout(this._pollingInterval);
@@ -440,6 +614,8 @@ export class SSLWebSocket implements SSLWebSocketInterface {
       this._protocol = event.protocol || '';
       this._emitEvent({
         type: 'open',
+        url: event.url,
+        connectTime: event.connectTime,
       });
     } else if (event.type === 'message') {
       this._emitEvent({
@@ -528,6 +704,81 @@ export function createSSLWebSocket(config: WebSocketConfig): SSLWebSocket {
   return new SSLWebSocket(config);
 }
 
+/**
+ * Resolve DNS and complete the TCP + TLS handshake (with pin check) ahead of time,
+ * e.g. during the splash screen. A later connect() to the same origin with the same
+ * pins reuses the warm session. Unused entries expire after `options.ttl`.
+ * Android only: resolves immediately on platforms without native support.
+ */
+export async function preconnect(
+  url: string,
+  sslPinning: SSLPinningConfig,
+  options?: PreconnectOptions
+): Promise<void> {
+  if (typeof NativeModule.preconnect !== 'function') {
+    return;
+  }
+  await NativeModule.preconnect(url, sslPinning, options);
+}
+
+// Utility function to configure the background low-power mode
+export function configureLowPowerMode(config: LowPowerModeConfig): Promise<void> {
+  return SSLWebSocket.configureLowPowerMode(config);
+}
+
+/**
+ * Send the same text payload on several sockets with a single bridge call,
+ * e.g. an auth refresh or heartbeat. Resolves with a result per socket id.
+ */
+export async function sendToMany(
+  sockets: Array<SSLWebSocket | string>,
+  data: string
+): Promise<Record<string, SendResult>> {
+  const ids = sockets.map((socket) => (typeof socket === 'string' ? socket : socket.id));
+
+  if (typeof NativeModule.sendToMany !== 'function') {
+    // Fallback: one sendData call per socket
+    const results: Record<string, SendResult> = {};
+    await Promise.all(ids.map(async (id) => {
+      try {
+        await NativeModule.sendData(id, data);
+        results[id] = { success: true };
+      } catch (error: any) {
+        results[id] = { success: false, error: error?.code ?? 'send_failed' };
+      }
+    }));
+    return results;
+  }
+
+  return NativeModule.sendToMany(ids, data);
+}
+
+/**
+ * Cap the number of TLS handshakes running at once across all sockets.
+ * Extra connects wait in a priority queue (see `options.priority`).
+ * Android only: resolves immediately on platforms without native support.
+ */
+export async function configureConnectScheduler(config: ConnectSchedulerConfig): Promise<void> {
+  if (typeof NativeModule.configureConnectScheduler !== 'function') {
+    return;
+  }
+  await NativeModule.configureConnectScheduler(config);
+}
+
+/**
+ * Handshake scheduler state and wait-time percentiles per priority
+ */
+export async function getConnectSchedulerStats(): Promise<ConnectSchedulerStats | null> {
+  if (typeof NativeModule.getConnectSchedulerStats !== 'function') {
+    return null;
+  }
+  try {
+    return await NativeModule.getConnectSchedulerStats();
+  } catch {
+    return null;
+  }
+}
+
 // Utility function to extract hostname from a WebSocket URL
 export function extractHostname(url: string): string {
   try {
@@ -1,13 +1,31 @@
-export { SSLWebSocket, createSSLWebSocket, extractHostname } from './SSLWebSocket';
+export {
+  SSLWebSocket,
+  createSSLWebSocket,
+  extractHostname,
+  preconnect,
+  sendToMany,
+  configureLowPowerMode,
+  configureConnectScheduler,
+  getConnectSchedulerStats,
+} from './SSLWebSocket';
 
 export type {
   SSLPinningConfig,
+  PreconnectOptions,
+  RequestOptions,
+  SendResult,
+  LowPowerModeConfig,
+  ConnectSchedulerConfig,
+  ConnectSchedulerStats,
   WebSocketConfig,
   WebSocketOpenEvent,
   WebSocketMessageEvent,
   WebSocketErrorEvent,
   WebSocketCloseEvent,
   SSLValidationResult,
+  WebSocketStats,
+  LatencySummary,
+  LatencyStats,
 } from './types';
 
 export {
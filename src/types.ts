@@ -22,12 +22,110 @@ export interface WebSocketConfig {
   options?: {
     /** Ignore certificate errors (development only) */
     allowSelfSignedCerts?: boolean;
+    /**
+     * Keep TLS sessions in a disk-backed cache so cold starts can resume
+     * the handshake. Pins are re-checked on resumed sessions. Android only;
+     * requires the app to depend on org.conscrypt:conscrypt-android, ignored
+     * otherwise.
+     */
+    persistentSessionCache?: boolean;
+    /**
+     * Record every inbound/outbound frame to this file (in the app's capture
+     * directory) for offline replay. An existing capture is replaced. Android only.
+     */
+    captureFile?: string;
+    /**
+     * Replay a capture recorded with `captureFile` instead of connecting.
+     * Outbound data is discarded. Android only.
+     */
+    replayFile?: string;
+    /** Replay speed factor (1 = original timing, 0 = as fast as possible) */
+    replaySpeed?: number;
+    /**
+     * Fallback endpoints serving the same feed, raced after `url` with the same
+     * pin set. The first to complete the handshake wins. Android only.
+     */
+    alternateUrls?: string[];
+    /** Head start in milliseconds given to each endpoint before the next one starts (default 250) */
+    endpointStaggerDelay?: number;
+    /**
+     * Handshake priority when the connect scheduler is capped (default 'normal').
+     * Low-priority connects never take the last free handshake slot until they have
+     * waited `lowPriorityAgingMs`. Android only.
+     */
+    priority?: 'critical' | 'normal' | 'low';
   };
 }
 
+export interface SendResult {
+  /** The frame was queued on the socket */
+  success: boolean;
+  /** Failure code (websocket_not_found, invalid_state, send_failed) */
+  error?: string;
+}
+
+export interface RequestOptions {
+  /** JSON field holding the correlation id, injected when missing (default 'id') */
+  idField?: string;
+  /** Timeout in milliseconds (default 30000, 0 disables) */
+  timeout?: number;
+}
+
+export interface PreconnectOptions {
+  /** Connection timeout in milliseconds */
+  connectionTimeout?: number;
+  /** Time in milliseconds an unused warm entry is kept (default 60000) */
+  ttl?: number;
+  /** Store the warmed TLS session in the disk-backed cache (see WebSocketConfig.options) */
+  persistentSessionCache?: boolean;
+}
+
+export interface ConnectSchedulerConfig {
+  /** Maximum number of TLS handshakes in flight (0 = unlimited, the default) */
+  maxConcurrentHandshakes: number;
+  /**
+   * Time in milliseconds after which a queued low-priority connect competes as
+   * normal priority, so it can't be starved (default 2000)
+   */
+  lowPriorityAgingMs?: number;
+}
+
+export interface ConnectSchedulerStats {
+  /** Configured cap, -1 when unlimited */
+  maxConcurrentHandshakes: number;
+  activeHandshakes: number;
+  queued: number;
+  /** Time spent waiting for a handshake slot, per priority */
+  waitTime: {
+    critical: LatencySummary;
+    normal: LatencySummary;
+    low: LatencySummary;
+  };
+}
+
+export interface LowPowerModeConfig {
+  /** Enable background buffering (no bridge traffic while the app is in background) */
+  enabled: boolean;
+  /**
+   * Memory cap for buffered message payloads in UTF-8 bytes, shared by all sockets.
+   * The socket buffering the most loses its oldest messages first (default 1 MB)
+   */
+  maxBufferedBytes?: number;
+  /** Message types (value of `typeField` in JSON payloads) that may be dropped in background */
+  droppableTypes?: string[];
+  /** JSON field holding the message type (default 'type') */
+  typeField?: string;
+  /** Keep the latest message of each droppable type instead of dropping them all */
+  conflate?: boolean;
+}
+
 // Specific event types for each WebSocket event type
 export interface WebSocketOpenEvent {
   type: 'open';
+  /** Endpoint that won the connect (differs from `url` when alternateUrls are raced) */
+  url?: string;
+  /** Time from connect() to open in milliseconds */
+  connectTime?: number;
 }
 
 export interface WebSocketMessageEvent {
@@ -97,6 +195,44 @@ export type WebSocketEvent =
   | WebSocketErrorEvent
   | WebSocketCloseEvent;
 
+export interface WebSocketStats {
+  /** Native ready state */
+  readyState: WebSocketReadyState;
+  /** Bytes queued natively and not yet written to the socket */
+  bufferedAmount: number;
+  /** Events waiting in the native queue for the next poll */
+  queuedEvents: number;
+  messagesReceived: number;
+  messagesSent: number;
+  /** Payload bytes received (UTF-8 for text frames) */
+  bytesReceived: number;
+  /** Payload bytes sent (UTF-8 for text frames) */
+  bytesSent: number;
+  /** Endpoint in use */
+  endpoint?: string;
+  /** Time from connect() to open in milliseconds */
+  connectTime?: number;
+  /** Time from connect() to the first received message in milliseconds */
+  timeToFirstByte?: number;
+}
+
+export interface LatencySummary {
+  /** Number of recorded samples */
+  count: number;
+  /** Percentiles and max in milliseconds */
+  p50: number;
+  p90: number;
+  p99: number;
+  max: number;
+}
+
+export interface LatencyStats {
+  /** Socket read to native event queue */
+  receiveToEnqueue: LatencySummary;
+  /** Native event queue to JS poll */
+  enqueueToDrain: LatencySummary;
+}
+
 export interface SSLValidationResult {
   /** Validation success */
   success: boolean;
@@ -139,6 +275,12 @@ interface SSLWebSocketInterface {
   /** Protocol used */
   protocol: string;
 
+  /** Bytes queued natively and not yet sent (synchronous native read) */
+  readonly bufferedAmount: number;
+
+  /** Native connection id (for native modules using the Java registry) */
+  readonly id: string;
+
   /** Connect the WebSocket */
   connect(): void;
 
@@ -148,12 +290,24 @@ interface SSLWebSocketInterface {
   /** Send data */
   send(data: string | ArrayBuffer | Blob): void;
 
+  /** Send a JSON request and resolve with the matching response (Android only) */
+  request<T = any>(payload: object | string, options?: RequestOptions): Promise<T>;
+
   /** Add event listener with specific typing */
   addEventListener<K extends keyof EventListenerMap>(type: K, listener: EventListenerMap[K]): void;
 
   /** Remove event listener with specific typing */
   removeEventListener<K extends keyof EventListenerMap>(type: K, listener: EventListenerMap[K]): void;
 
+  /** Native state and counters, read synchronously */
+  getStats(): WebSocketStats;
+
+  /** Delivery latency histograms, null if unavailable */
+  getLatencyStats(): Promise<LatencyStats | null>;
+
+  /** Reset delivery latency histograms */
+  resetLatencyStats(): Promise<void>;
+
   /** Get SSL validation result */
   getSSLValidationResult(): Promise<SSLValidationResult | null>;
 